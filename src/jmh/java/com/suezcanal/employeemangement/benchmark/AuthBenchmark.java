@@ -0,0 +1,81 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Requests per second for GET /api/departments authenticated with HTTP Basic (BCrypt + user lookup
+ * per request) versus a bearer token (local HMAC check).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class AuthBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI departmentsUri;
+    private String basicAuthorization;
+    private String bearerAuthorization;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+        String baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        client = HttpClient.newHttpClient();
+        departmentsUri = URI.create(baseUrl + "/api/departments");
+        basicAuthorization = "Basic " + Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                .build();
+        Matcher matcher = ACCESS_TOKEN.matcher(client.send(login, HttpResponse.BodyHandlers.ofString()).body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login did not return a token");
+        }
+        bearerAuthorization = "Bearer " + matcher.group(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int basicAuth() throws IOException, InterruptedException {
+        return get(basicAuthorization);
+    }
+
+    @Benchmark
+    public int tokenAuth() throws IOException, InterruptedException {
+        return get(bearerAuthorization);
+    }
+
+    private int get(String authorization) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(departmentsUri).header("Authorization", authorization).GET().build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Unexpected status " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,32 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Bulk-inserts synthetic employees with a single INSERT ... SELECT over H2's SYSTEM_RANGE,
+     * spread round-robin across the existing departments.
+     */
+    static void seedEmployees(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer departments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM departments", Integer.class);
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, first_name, last_name, email, date_of_birth, hire_date, phone_number, salary, department_id)
+                SELECT NEXT VALUE FOR employees_seq, 'First' || X, 'Last' || MOD(X, 10007), 'bench' || X || '@example.com',
+                       DATEADD('DAY', -MOD(X, 15000), DATE '2000-01-01'), DATEADD('DAY', -MOD(X, 5000), CURRENT_DATE),
+                       '0100' || LPAD(CAST(MOD(X, 10000000) AS VARCHAR), 7, '0'), 3000 + MOD(X * 7919, 20000),
+                       (SELECT MIN(id) FROM departments) + MOD(X, ?)
+                FROM SYSTEM_RANGE(1, ?)
+                """, departments, count);
+    }
+
+    static long idAtOffset(ConfigurableApplicationContext context, long offset) {
+        return context.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT id FROM employees ORDER BY id LIMIT 1 OFFSET ?", Long.class, offset);
+    }
+}
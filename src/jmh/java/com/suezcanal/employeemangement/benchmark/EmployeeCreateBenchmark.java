@@ -0,0 +1,66 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.service.EmployeeEmailFilter;
+import com.suezcanal.employeemangement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of EmployeeService.createEmployee with 8 concurrent writers over 100k seeded employees, every
+ * email new, with the email filter answering the duplicate check and with it disabled (one existsByEmail
+ * query per create).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@Threads(8)
+public class EmployeeCreateBenchmark {
+
+    private static final int EMPLOYEES = 100_000;
+
+    @Param({"true", "false"})
+    public boolean emailFilter;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE, "employees.email-filter.enabled=" + emailFilter);
+        BenchmarkData.seedEmployees(context, EMPLOYEES);
+        context.getBean(EmployeeEmailFilter.class).load();
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeeDTO create() {
+        long n = sequence.incrementAndGet();
+        DepartmentDTO department = new DepartmentDTO();
+        department.setName("IT");
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setFirstName("Writer");
+        employee.setLastName("Number" + n);
+        employee.setEmail("writer" + n + "@example.com");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        employee.setHireDate(LocalDate.of(2024, 1, 1));
+        employee.setSalary(5000.0);
+        employee.setDepartment(department);
+        return employeeService.createEmployee(employee);
+    }
+}
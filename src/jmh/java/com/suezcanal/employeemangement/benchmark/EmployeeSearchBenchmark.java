@@ -0,0 +1,93 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeSearchCriteria;
+import com.suezcanal.employeemangement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of GET /api/employees/search filters over 1M employees, with the employees indexes in place and with
+ * them dropped. Without (department_id, salary) H2 falls back to the index it keeps for the department foreign
+ * key. The H2 plan of each filter is printed during setup so the index in use can be checked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EmployeeSearchBenchmark {
+
+    private static final List<String> INDEXES = List.of(
+            "idx_employees_department_id_salary", "idx_employees_last_name_first_name");
+
+    @Param({"1000000"})
+    public int employees;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Param({"salary", "hireDate", "name", "departmentAndSalary"})
+    public String filter;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeSearchCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkData.seedEmployees(context, employees);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+        }
+        jdbcTemplate.execute("ANALYZE");
+        employeeService = context.getBean(EmployeeService.class);
+
+        Long departmentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM departments", Long.class);
+        LocalDate today = LocalDate.now();
+        String condition;
+        switch (filter) {
+            case "salary" -> {
+                criteria = new EmployeeSearchCriteria(null, null, 10000.0, 10010.0, null, null, null);
+                condition = "e.salary BETWEEN 10000 AND 10010";
+            }
+            case "hireDate" -> {
+                criteria = new EmployeeSearchCriteria(null, null, null, null, today.minusDays(3), today, null);
+                condition = "e.hire_date BETWEEN DATE '" + today.minusDays(3) + "' AND DATE '" + today + "'";
+            }
+            case "name" -> {
+                criteria = new EmployeeSearchCriteria(null, null, null, null, null, null, "Last1000");
+                condition = "e.last_name LIKE 'Last1000%'";
+            }
+            case "departmentAndSalary" -> {
+                criteria = new EmployeeSearchCriteria(departmentId, null, 10000.0, 10010.0, null, null, null);
+                condition = "e.department_id = " + departmentId + " AND e.salary BETWEEN 10000 AND 10010";
+            }
+            default -> throw new IllegalArgumentException("Unknown filter " + filter);
+        }
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT e.id, e.department_id FROM employees e WHERE "
+                + condition + " ORDER BY e.id LIMIT 20", String.class);
+        System.out.println("Plan for " + filter + " (indexed=" + indexed + "):\n" + plan);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<EmployeeDTO> search() {
+        return employeeService.searchEmployees(criteria, PageRequest.of(0, 20));
+    }
+}
@@ -0,0 +1,76 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.EmployeeSuggestion;
+import com.suezcanal.employeemangement.service.EmployeeService;
+import com.suezcanal.employeemangement.service.EmployeeSuggestionIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Latency of GET /api/employees/suggest lookups over 1M employees, with an empty overlay and with one holding
+ * 4,000 unmerged changes. Setup prints the heap retained by the index per employee, measured as the used heap
+ * after a full GC with and without the loaded snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EmployeeSuggestBenchmark {
+
+    @Param({"1000000"})
+    public int employees;
+
+    @Param({"0", "4000"})
+    public int pendingChanges;
+
+    @Param({"f", "First4711", "last42", "bench99999@"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkData.seedEmployees(context, employees);
+        employeeService = context.getBean(EmployeeService.class);
+        EmployeeSuggestionIndex index = context.getBean(EmployeeSuggestionIndex.class);
+
+        long before = usedHeapAfterGc();
+        index.load();
+        long after = usedHeapAfterGc();
+        System.out.printf("Suggestion index: %d employees, %.1f bytes/employee retained%n",
+                employees, (after - before) / (double) employees);
+
+        index.putAll(LongStream.range(0, pendingChanges)
+                .mapToObj(i -> new EmployeeSuggestion(Long.MAX_VALUE - i, "Pending" + i, "Change", "pending" + i + "@example.com"))
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestion> suggest() {
+        return employeeService.suggestEmployees(query, 10);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,89 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.HeadcountBucket;
+import com.suezcanal.employeemangement.dto.HeadcountPoint;
+import com.suezcanal.employeemangement.service.DepartmentSummaryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of GET /api/departments/{id}/headcount-history over five years of daily summaries for 200 departments
+ * (365k rows): one department per bucket, and the monthly history of every department. {@code compacted} runs
+ * the retention rollup first so only the last 90 days stay daily. Setup prints the H2 plan of the range query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class HeadcountHistoryBenchmark {
+
+    private static final int DEPARTMENTS = 200;
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+    private static final LocalDate FROM = TO.minusYears(5).plusDays(1);
+
+    @Param({"false", "true"})
+    public boolean compacted;
+
+    @Param({"DAY", "WEEK", "MONTH"})
+    public HeadcountBucket bucket;
+
+    private ConfigurableApplicationContext context;
+    private DepartmentSummaryService departmentSummaryService;
+    private List<Long> departmentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO departments (name) SELECT 'History ' || X FROM SYSTEM_RANGE(1, ?)",
+                DEPARTMENTS - jdbcTemplate.queryForObject("SELECT COUNT(*) FROM departments", Integer.class));
+        jdbcTemplate.update("""
+                INSERT INTO daily_summaries (id, department_id, timestamp, employee_count, min_employee_count,
+                                             max_employee_count, samples, employee_days, resolution)
+                SELECT NEXT VALUE FOR daily_summaries_seq, d.id, DATEADD('DAY', X, CAST(? AS TIMESTAMP)),
+                       100 + MOD(X * 31 + d.id, 50), 100 + MOD(X * 31 + d.id, 50), 100 + MOD(X * 31 + d.id, 50), 1,
+                       100 + MOD(X * 31 + d.id, 50), 'DAY'
+                FROM departments d CROSS JOIN SYSTEM_RANGE(0, ?)
+                """, FROM.atTime(9, 0), ChronoUnit.DAYS.between(FROM, TO));
+        departmentIds = jdbcTemplate.queryForList("SELECT id FROM departments ORDER BY id", Long.class);
+        departmentSummaryService = context.getBean(DepartmentSummaryService.class);
+        if (compacted) {
+            departmentSummaryService.rollUpDailySummaries(TO.minusDays(90));
+        }
+        System.out.printf("daily_summaries: %d rows%n", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM daily_summaries", Long.class));
+        System.out.println(jdbcTemplate.queryForObject("""
+                EXPLAIN SELECT DATE_TRUNC('MONTH', s.timestamp), SUM(s.employee_days)
+                FROM daily_summaries s WHERE s.department_id = ? AND s.timestamp >= ? AND s.timestamp < ?
+                GROUP BY DATE_TRUNC('MONTH', s.timestamp)
+                """, String.class, departmentIds.getFirst(), FROM.atStartOfDay(), TO.plusDays(1).atStartOfDay()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<HeadcountPoint> oneDepartment() {
+        return departmentSummaryService.getHeadcountHistory(departmentIds.get(DEPARTMENTS / 2), FROM, TO, bucket);
+    }
+
+    @Benchmark
+    public List<List<HeadcountPoint>> allDepartments() {
+        List<List<HeadcountPoint>> histories = new ArrayList<>(departmentIds.size());
+        for (Long departmentId : departmentIds) {
+            histories.add(departmentSummaryService.getHeadcountHistory(departmentId, FROM, TO, bucket));
+        }
+        return histories;
+    }
+}
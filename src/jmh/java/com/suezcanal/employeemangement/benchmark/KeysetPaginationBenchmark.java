@@ -0,0 +1,62 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.CursorPage;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.service.EmployeeService;
+import com.suezcanal.employeemangement.service.KeysetCursor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of fetching page N of GET /api/employees via OFFSET paging (plus count query) and via
+ * keyset paging on the primary key. Keyset latency should stay flat as the page number grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class KeysetPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"2000000"})
+    public int employees;
+
+    @Param({"1", "100", "10000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkData.seedEmployees(context, employees);
+        employeeService = context.getBean(EmployeeService.class);
+        cursor = page == 1 ? "" : KeysetCursor.encode(BenchmarkData.idAtOffset(context, (long) (page - 1) * PAGE_SIZE - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<EmployeeDTO> offset() {
+        return employeeService.getAllEmployees(PageRequest.of(page - 1, PAGE_SIZE, Sort.by("id")));
+    }
+
+    @Benchmark
+    public CursorPage<EmployeeDTO> keyset() {
+        return employeeService.getEmployeesAfter(cursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.mapper.DepartmentMapperImpl;
+import com.suezcanal.employeemangement.mapper.EmployeeMapper;
+import com.suezcanal.employeemangement.mapper.EmployeeMapperImpl;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of Employee/EmployeeDTO mapping: the reflective {@code BeanUtils.copyProperties} calls the
+ * service used before, against the generated {@link EmployeeMapper}. Run with {@code -prof gc} to get the
+ * allocation rate ({@code gc.alloc.rate.norm} is bytes per mapped object).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl(new DepartmentMapperImpl());
+
+    private Employee employee;
+    private EmployeeDTO employeeDTO;
+
+    @Setup
+    public void setUp() {
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("IT");
+
+        employee = new Employee();
+        employee.setId(1L);
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("john.doe@example.com");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+        employee.setPhoneNumber("01023456567");
+        employee.setSalary(5000.0);
+        employee.setDepartment(department);
+
+        employeeDTO = employeeMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public EmployeeDTO toDtoBeanUtils() {
+        EmployeeDTO dto = new EmployeeDTO();
+        BeanUtils.copyProperties(employee, dto, "department");
+        DepartmentDTO departmentDTO = new DepartmentDTO();
+        departmentDTO.setId(employee.getDepartment().getId());
+        departmentDTO.setName(employee.getDepartment().getName());
+        dto.setDepartment(departmentDTO);
+        return dto;
+    }
+
+    @Benchmark
+    public EmployeeDTO toDtoMapper() {
+        return employeeMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public Employee toEntityBeanUtils() {
+        Employee entity = new Employee();
+        BeanUtils.copyProperties(employeeDTO, entity, "department", "id");
+        return entity;
+    }
+
+    @Benchmark
+    public Employee toEntityMapper() {
+        return employeeMapper.toEntity(employeeDTO);
+    }
+}
@@ -0,0 +1,190 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.suezcanal.employeemangement.configuration.BrotliProperties;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.proto.EmployeePage;
+import com.suezcanal.employeemangement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One page of 1,000 employees per response format and content encoding. {@code serialize} is the CPU cost of
+ * writing the page with the converter the application picks for that format, through the encoder, into memory;
+ * {@code fetch} is GET /api/employees?size=1000 over loopback with a bearer token, including decompressing and
+ * parsing the body on the client. Setup prints the bytes on the wire for the page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ResponseFormatBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Type PAGE_TYPE = ResolvableType.forClassWithGenerics(Page.class, EmployeeDTO.class).getType();
+    private static final int EMPLOYEES = 10_000;
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    @Param({"identity", "gzip", "br"})
+    public String encoding;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest pageRequest;
+    private Page<EmployeeDTO> page;
+    private MediaType mediaType;
+    private GenericHttpMessageConverter<Object> converter;
+    private ObjectMapper clientMapper;
+    private Encoder.Parameters brotliParameters;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+        BenchmarkData.seedEmployees(context, EMPLOYEES);
+        String baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        client = HttpClient.newHttpClient();
+
+        mediaType = switch (format) {
+            case "json" -> MediaType.APPLICATION_JSON;
+            case "cbor" -> MediaType.parseMediaType("application/cbor");
+            case "smile" -> MediaType.parseMediaType("application/x-jackson-smile");
+            case "protobuf" -> MediaType.parseMediaType("application/x-protobuf");
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        clientMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        BrotliProperties brotli = context.getBean(BrotliProperties.class);
+        brotliParameters = new Encoder.Parameters().setQuality(brotli.quality()).setWindow(brotli.window());
+
+        page = context.getBean(EmployeeService.class).getAllEmployees(PageRequest.of(0, PAGE_SIZE));
+        converter = findConverter();
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"user123\"}"))
+                .build();
+        Matcher matcher = ACCESS_TOKEN.matcher(client.send(login, HttpResponse.BodyHandlers.ofString()).body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login did not return a token");
+        }
+        pageRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees?page=0&size=" + PAGE_SIZE))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + matcher.group(1))
+                .header(HttpHeaders.ACCEPT, mediaType.toString())
+                .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> response = send();
+        System.out.printf("%s/%s: %d bytes on the wire for %d employees (%.1f bytes/employee)%n", format, encoding,
+                response.body().length, PAGE_SIZE, response.body().length / (double) PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * 1024);
+        OutputStream body = switch (encoding) {
+            case "gzip" -> new GZIPOutputStream(bytes);
+            case "br" -> new BrotliOutputStream(bytes, brotliParameters);
+            default -> bytes;
+        };
+        HttpHeaders headers = new HttpHeaders();
+        converter.write(page, PAGE_TYPE, mediaType, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        body.close();
+        return bytes.size();
+    }
+
+    @Benchmark
+    public int fetch() throws IOException, InterruptedException {
+        byte[] body = decompress(send().body());
+        return "protobuf".equals(format)
+                ? EmployeePage.parseFrom(body).getContentCount()
+                : clientMapper.readTree(body).get("content").size();
+    }
+
+    private HttpResponse<byte[]> send() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(pageRequest, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        String contentEncoding = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse("identity");
+        if (!contentEncoding.equals(encoding)) {
+            throw new IllegalStateException("Asked for " + encoding + " but got " + contentEncoding);
+        }
+        return response;
+    }
+
+    private byte[] decompress(byte[] body) throws IOException {
+        return switch (encoding) {
+            case "gzip" -> {
+                try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                    yield input.readAllBytes();
+                }
+            }
+            case "br" -> Decoder.decompress(body).getDecompressedData();
+            default -> body;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private GenericHttpMessageConverter<Object> findConverter() {
+        for (HttpMessageConverter<?> candidate : context.getBean(RequestMappingHandlerAdapter.class).getMessageConverters()) {
+            if (candidate instanceof GenericHttpMessageConverter<?> generic && generic.canWrite(PAGE_TYPE, page.getClass(), mediaType)) {
+                return (GenericHttpMessageConverter<Object>) generic;
+            }
+        }
+        throw new IllegalStateException("No converter writes a page as " + mediaType);
+    }
+}
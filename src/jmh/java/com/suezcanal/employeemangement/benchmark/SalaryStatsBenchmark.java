@@ -0,0 +1,61 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.SalaryStats;
+import com.suezcanal.employeemangement.service.SalaryStatsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of computing salary statistics without the cache: one department (1M employees over the five seeded
+ * departments, so 200k salaries) and all employees. The cache entry is dropped before every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SalaryStatsBenchmark {
+
+    @Param({"1000000"})
+    public int employees;
+
+    private ConfigurableApplicationContext context;
+    private SalaryStatsService salaryStatsService;
+    private Long departmentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkData.seedEmployees(context, employees);
+        salaryStatsService = context.getBean(SalaryStatsService.class);
+        departmentId = context.getBean(JdbcTemplate.class).queryForObject("SELECT MIN(id) FROM departments", Long.class);
+        SalaryStats stats = salaryStatsService.getDepartmentSalaryStats(departmentId);
+        System.out.println("Department " + departmentId + ": " + stats);
+    }
+
+    @Setup(Level.Invocation)
+    public void invalidate() {
+        salaryStatsService.invalidate(List.of(departmentId));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SalaryStats department() {
+        return salaryStatsService.getDepartmentSalaryStats(departmentId);
+    }
+
+    @Benchmark
+    public SalaryStats allDepartments() {
+        return salaryStatsService.getSalaryStats();
+    }
+}
@@ -0,0 +1,86 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.service.DepartmentService;
+import com.suezcanal.employeemangement.service.DepartmentSummaryService;
+import com.suezcanal.employeemangement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service-level hot paths against an embedded H2 seeded with {@code employees} rows. Every parameter
+ * value runs in its own fork, so each trial starts from a fresh database. Results are written to
+ * {@code target/jmh-result.json} by the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int employees;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private DepartmentService departmentService;
+    private DepartmentSummaryService departmentSummaryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkData.seedEmployees(context, employees);
+        employeeService = context.getBean(EmployeeService.class);
+        departmentService = context.getBean(DepartmentService.class);
+        departmentSummaryService = context.getBean(DepartmentSummaryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<EmployeeDTO> getAllEmployees() {
+        return employeeService.getAllEmployees(PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public EmployeeDTO createEmployee() {
+        DepartmentDTO department = new DepartmentDTO();
+        department.setName("IT");
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setFirstName("Bench");
+        employee.setLastName("Created");
+        employee.setEmail("created" + sequence.incrementAndGet() + "@example.com");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+        employee.setPhoneNumber("01023456567");
+        employee.setSalary(5000.0);
+        employee.setDepartment(department);
+        return employeeService.createEmployee(employee);
+    }
+
+    @Benchmark
+    public List<DepartmentDTO> getAllDepartments() {
+        return departmentService.getAllDepartments();
+    }
+
+    @Benchmark
+    public int generateDailyDepartmentSummary() {
+        return departmentSummaryService.generateDailyDepartmentSummary(500, 4);
+    }
+}
@@ -0,0 +1,89 @@
+package com.suezcanal.employeemangement.benchmark;
+
+import com.suezcanal.employeemangement.service.KeysetCursor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test of the two execution modes: 2,000 concurrent clients each paging through GET /api/employees with a
+ * bearer token against 100k seeded employees. Throughput mode gives requests per second, sample mode gives the
+ * latency distribution (see the p0.99 row).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "-Xss256k"})
+@Threads(2000)
+public class ThreadingModeBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int EMPLOYEES = 100_000;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+                "spring.threads.virtual.enabled=" + "virtual".equals(mode));
+        BenchmarkData.seedEmployees(context, EMPLOYEES);
+        firstId = BenchmarkData.idAtOffset(context, 0);
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                .build();
+        Matcher matcher = ACCESS_TOKEN.matcher(client.send(login, HttpResponse.BodyHandlers.ofString()).body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login did not return a token");
+        }
+        authorization = "Bearer " + matcher.group(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private long after;
+    }
+
+    @Benchmark
+    public int getEmployeesPage(Client clientState) throws IOException, InterruptedException {
+        // each client walks its own stretch of the table so requests are not served from the same rows
+        clientState.after = (clientState.after + 997) % EMPLOYEES;
+        String cursor = KeysetCursor.encode(firstId + clientState.after);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees?size=20&after=" + cursor))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Unexpected status " + status);
+        }
+        return status;
+    }
+}
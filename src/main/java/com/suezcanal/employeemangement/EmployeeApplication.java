@@ -2,11 +2,13 @@ package com.suezcanal.employeemangement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @EnableScheduling
+@EnableAsync
 public class EmployeeApplication {
 
     public static void main(String[] args) {
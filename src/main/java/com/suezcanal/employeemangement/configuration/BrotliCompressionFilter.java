@@ -0,0 +1,350 @@
+package com.suezcanal.employeemangement.configuration;
+
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Brotli-encodes responses for clients that accept {@code br}, under the same rules Tomcat applies to gzip: only
+ * the configured content types and only bodies of at least the minimum size. The body is buffered up to that size
+ * to decide; a response that sets {@code Content-Encoding} itself, carries a strong ETag, or is written
+ * asynchronously (streamed exports, SSE) or without blocking ({@link WriteListener}) is passed through untouched
+ * and left to Tomcat. Clients without {@code br} get Tomcat's gzip.
+ */
+public class BrotliCompressionFilter extends OncePerRequestFilter {
+
+    private static final String BROTLI = "br";
+
+    private final List<MediaType> mimeTypes;
+    private final int minResponseSize;
+    private final Encoder.Parameters parameters;
+
+    public BrotliCompressionFilter(List<MediaType> mimeTypes, int minResponseSize, int quality, int window) {
+        this.mimeTypes = mimeTypes;
+        this.minResponseSize = minResponseSize;
+        this.parameters = new Encoder.Parameters().setQuality(quality).setWindow(window);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acceptsBrotli(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        BrotliResponse wrapped = new BrotliResponse(request, response);
+        filterChain.doFilter(request, wrapped);
+        if (!request.isAsyncStarted()) {
+            wrapped.finish();
+        }
+    }
+
+    static boolean acceptsBrotli(HttpServletRequest request) {
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                if (!parts[0].trim().equalsIgnoreCase(BROTLI)) {
+                    continue;
+                }
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=") && parseQuality(parameter.substring(2)) == 0) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private final class BrotliResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private CompressingStream stream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+
+        BrotliResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called on this response");
+            }
+            if (stream == null) {
+                stream = new CompressingStream(this);
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called on this response");
+                }
+                stream = new CompressingStream(this);
+                writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            // the length of a compressed body is only known once it is written
+            if (stream != null && stream.decided()) {
+                if (!stream.compressing()) {
+                    super.setContentLengthLong(length);
+                }
+                return;
+            }
+            contentLength = length;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null && stream.decided()) {
+                stream.flush();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (stream != null) {
+                stream.resetBuffer();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            contentLength = -1;
+            super.reset();
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.close();
+            } else if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+
+        boolean shouldCompress(boolean complete, int bufferedBytes) {
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (request.isAsyncStarted() || getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                    || (etag != null && !etag.startsWith("W/"))
+                    || getStatus() == HttpServletResponse.SC_NO_CONTENT || getStatus() == HttpServletResponse.SC_NOT_MODIFIED
+                    || !isCompressibleType()) {
+                return false;
+            }
+            // Vary whenever the encoding depends on the request, compressed or not
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            long length = complete ? bufferedBytes : contentLength;
+            return length < 0 || length >= minResponseSize;
+        }
+
+        private boolean isCompressibleType() {
+            String contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                return mimeTypes.stream().anyMatch(mediaType::equalsTypeAndSubtype);
+            } catch (InvalidMediaTypeException e) {
+                return false;
+            }
+        }
+
+        OutputStream startCompressed() throws IOException {
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, BROTLI);
+            return new BrotliOutputStream(super.getOutputStream(), parameters);
+        }
+
+        ServletOutputStream startUncompressed(long bufferedBytes) throws IOException {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            } else if (bufferedBytes >= 0) {
+                super.setContentLengthLong(bufferedBytes);
+            }
+            return super.getOutputStream();
+        }
+    }
+
+    /**
+     * Holds the body until it reaches the minimum size or ends, then switches to writing it through an encoder or
+     * unchanged. Non-blocking writes are only possible unchanged: they go straight to the container's stream.
+     */
+    private final class CompressingStream extends ServletOutputStream {
+
+        private final BrotliResponse response;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+        private ServletOutputStream uncompressed;
+        private boolean compressing;
+        private boolean closed;
+
+        CompressingStream(BrotliResponse response) {
+            this.response = response;
+        }
+
+        boolean decided() {
+            return target != null;
+        }
+
+        boolean compressing() {
+            return compressing;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("Response body already closed");
+            }
+            if (target == null && buffer.size() == 0 && response.request.isAsyncStarted()) {
+                target = uncompressed = response.startUncompressed(-1);
+            }
+            if (target != null) {
+                target.write(bytes, offset, length);
+                return;
+            }
+            buffer.write(bytes, offset, length);
+            if (buffer.size() >= minResponseSize) {
+                decide(false);
+            }
+        }
+
+        private void decide(boolean complete) throws IOException {
+            compressing = response.shouldCompress(complete, buffer.size());
+            if (compressing) {
+                target = response.startCompressed();
+            } else {
+                target = uncompressed = response.startUncompressed(complete ? buffer.size() : -1);
+            }
+            buffer.writeTo(target);
+            buffer = null;
+        }
+
+        void resetBuffer() {
+            if (target == null) {
+                buffer.reset();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // before the decision there is nothing to flush: the buffer is at most minResponseSize bytes
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (target == null) {
+                decide(true);
+            }
+            if (compressing) {
+                target.close();
+            } else {
+                target.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            // buffered and compressed writes block, so they are always ready
+            return uncompressed == null || uncompressed.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (compressing) {
+                throw new IllegalStateException("Cannot switch to non-blocking writes after compression has started");
+            }
+            if (target == null) {
+                // whatever was buffered so far is still written blocking, before the listener takes over
+                try {
+                    target = uncompressed = response.startUncompressed(-1);
+                    buffer.writeTo(target);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                buffer = null;
+            }
+            uncompressed.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.suezcanal.employeemangement.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Brotli response compression: whether it is offered at all, the encoder quality (0-11; dynamic responses want
+ * 4-5, the higher levels cost far more CPU than they save bytes) and the window size as log2 bytes (10-24), which
+ * bounds the encoder memory held by each compressing response.
+ */
+@ConfigurationProperties(prefix = "compression.brotli")
+public record BrotliProperties(boolean enabled, int quality, int window) {
+
+    public BrotliProperties {
+        if (quality < 0 || quality > 11) {
+            throw new IllegalArgumentException("compression.brotli.quality must be between 0 and 11");
+        }
+        if (window < 10 || window > 24) {
+            throw new IllegalArgumentException("compression.brotli.window must be between 10 and 24");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.suezcanal.employeemangement.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Change stream limits: changes read from the change log per query, events buffered per subscriber before
+ * coalescing, subscribers per instance, changes replayed to a resuming client, how long the change log keeps a
+ * change, and how long one stream stays open before the client has to reconnect.
+ */
+@ConfigurationProperties(prefix = "changes")
+public record ChangeFeedProperties(int pollBatchSize, int subscriberBuffer, int maxSubscribers, int maxReplay,
+                                   Duration retention, Duration streamTimeout) {
+
+    public ChangeFeedProperties {
+        if (pollBatchSize < 1 || subscriberBuffer < 1 || maxSubscribers < 1 || maxReplay < 1) {
+            throw new IllegalArgumentException("changes.poll-batch-size, subscriber-buffer, max-subscribers and max-replay must be at least 1");
+        }
+        if (retention == null) {
+            retention = Duration.ofHours(1);
+        }
+        if (streamTimeout == null) {
+            streamTimeout = Duration.ofMinutes(30);
+        }
+    }
+}
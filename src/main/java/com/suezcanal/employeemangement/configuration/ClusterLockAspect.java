@@ -0,0 +1,56 @@
+package com.suezcanal.employeemangement.configuration;
+
+import com.suezcanal.employeemangement.service.JobLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Wraps {@link ClusterLocked} methods in {@link JobLockService#runLocked}. Every call is counted in
+ * {@code app.scheduler.lock} by {@code job} and {@code outcome}: {@code acquired} (this instance ran the job) or
+ * {@code skipped} (another instance held the lock).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ClusterLockAspect {
+
+    private final JobLockService jobLockService;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Around("@annotation(clusterLocked)")
+    public Object runLocked(ProceedingJoinPoint joinPoint, ClusterLocked clusterLocked) throws Throwable {
+        Throwable[] failure = new Throwable[1];
+        boolean ran = jobLockService.runLocked(clusterLocked.name(), duration(clusterLocked.lockAtMostFor()),
+                duration(clusterLocked.lockAtLeastFor()), () -> {
+                    try {
+                        joinPoint.proceed();
+                    } catch (Throwable e) {
+                        failure[0] = e;
+                    }
+                });
+        Counter.builder("app.scheduler.lock")
+                .description("Cluster-locked job runs by outcome")
+                .tag("job", clusterLocked.name())
+                .tag("outcome", ran ? "acquired" : "skipped")
+                .register(meterRegistry)
+                .increment();
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return null;
+    }
+
+    private Duration duration(String value) {
+        return DurationStyle.detectAndParse(environment.resolveRequiredPlaceholders(value));
+    }
+}
@@ -0,0 +1,31 @@
+package com.suezcanal.employeemangement.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a scheduled method on at most one instance of the cluster at a time; see {@link ClusterLockAspect}. The
+ * other instances skip the call. Durations take the same formats as duration properties ({@code 30m},
+ * {@code PT30M}) and may be {@code ${...}} placeholders. Only for {@code void} methods.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ClusterLocked {
+
+    /**
+     * Lock name, shared by all instances.
+     */
+    String name();
+
+    /**
+     * How long the lock is held if the holder never releases it, e.g. because it died; longer than the job runs.
+     */
+    String lockAtMostFor();
+
+    /**
+     * Minimum time the lock is held after it was taken, to cover clock differences between instances.
+     */
+    String lockAtLeastFor() default "0s";
+}
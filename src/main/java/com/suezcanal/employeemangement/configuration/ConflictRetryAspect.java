@@ -0,0 +1,85 @@
+package com.suezcanal.employeemangement.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries {@link RetryOnConflict} methods on {@link ConcurrencyFailureException} (a stale version at flush, a lock
+ * timeout or deadlock) up to {@code concurrency.retry.max-attempts} times, sleeping an exponentially growing,
+ * jittered delay between attempts. Ordered outside the transaction interceptor so each attempt gets its own
+ * transaction; a method joining a caller's transaction is not retried, since only the caller can roll back.
+ * <p>
+ * Every conflict is counted in {@code app.concurrency.conflicts} by {@code operation} and {@code outcome}:
+ * {@code retried} or {@code exhausted} (the last attempt failed too).
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@Slf4j
+public class ConflictRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public ConflictRetryAspect(MeterRegistry meterRegistry,
+                               @Value("${concurrency.retry.max-attempts:3}") int maxAttempts,
+                               @Value("${concurrency.retry.initial-backoff:10ms}") Duration initialBackoff,
+                               @Value("${concurrency.retry.max-backoff:200ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("concurrency.retry.max-attempts must be at least 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        String operation = joinPoint.getTarget().getClass().getSimpleName() + "." + joinPoint.getSignature().getName();
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException e) {
+                if (!retryable || attempt >= maxAttempts) {
+                    count(operation, "exhausted");
+                    throw e;
+                }
+                count(operation, "retried");
+                long backoffMillis = backoffMillis(attempt);
+                log.debug("{} conflicted on attempt {}, retrying in {} ms: {}", operation, attempt, backoffMillis, e.getMessage());
+                Thread.sleep(backoffMillis);
+            }
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private void count(String operation, String outcome) {
+        Counter.builder("app.concurrency.conflicts")
+                .description("Optimistic and pessimistic locking conflicts of retried operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
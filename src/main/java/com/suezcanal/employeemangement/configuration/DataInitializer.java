@@ -64,6 +64,9 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void createEmployee(String name, String email, Long departmentId, String lastName, double salary, String phoneNumber, LocalDate hireDate, LocalDate dateOfBirth) {
+        if (employeeRepository.existsByEmail(email)) {
+            return;
+        }
         Employee employee = new Employee();
         employee.setFirstName(name);
         employee.setEmail(email);
@@ -0,0 +1,216 @@
+package com.suezcanal.employeemangement.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills the database with {@code loadtest.departments} departments and {@code loadtest.employees} employees
+ * before the application starts serving (profile {@code loadtest}).
+ * <p>
+ * Employees are generated in fixed-size chunks, each from its own random stream derived from the seed and the
+ * chunk number, so the data set only depends on the seed and the sizes. Chunks are built and inserted in
+ * parallel, one connection per worker, with JDBC batches and one commit per chunk. Ids are assigned from the
+ * current maximum and the sequences are moved past them afterwards so JPA inserts keep working.
+ * <p>
+ * Distributions: department sizes follow a Zipf-like curve; salaries are log-normal around a median per
+ * department function and grow with years of service; ages are normal around 38 (22-65); hire dates lean
+ * towards recent years.
+ */
+@Component
+@Profile("loadtest")
+@Order(1)
+@EnableConfigurationProperties(LoadTestProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestDataGenerator implements CommandLineRunner {
+
+    static final int CHUNK_SIZE = 50_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private static final String[] FUNCTIONS = {
+            "Engineering", "Sales", "Support", "Finance", "Human Resources", "Marketing", "Operations", "Legal",
+            "Research", "Logistics", "Procurement", "Quality", "Security", "Maintenance", "Navigation", "Training"};
+    private static final double[] MEDIAN_SALARIES = {
+            14000, 9000, 6500, 11000, 8000, 9500, 7000, 13000,
+            15000, 6000, 8500, 7500, 6000, 5500, 12000, 7000};
+    private static final String[] FIRST_NAMES = {
+            "Ahmed", "Mohamed", "Mahmoud", "Mostafa", "Omar", "Youssef", "Ali", "Hassan", "Khaled", "Amr",
+            "Karim", "Tarek", "Hany", "Sherif", "Ibrahim", "Adel", "Walid", "Hossam", "Ayman", "Bahaa",
+            "Fatma", "Mariam", "Nour", "Salma", "Aya", "Heba", "Dina", "Rania", "Yasmin", "Sara",
+            "Mona", "Nada", "Reem", "Hana", "Laila", "Amira", "Eman", "Shaimaa", "Asmaa", "Doaa",
+            "John", "Michael", "David", "James", "Robert", "Maria", "Anna", "Elena", "Sofia", "Laura"};
+    private static final String[] LAST_NAMES = {
+            "Hassan", "Hussein", "Mahmoud", "Ibrahim", "Mostafa", "Ali", "Abdelrahman", "Salem", "Farouk", "Said",
+            "Ezz", "Assal", "Ramy", "Ayman", "Nabil", "Kamel", "Fathy", "Shawky", "Soliman", "Zaki",
+            "Gamal", "Mansour", "Khalil", "Naguib", "Rashad", "Saleh", "Tawfik", "Youssef", "Badawi", "Sabry",
+            "Smith", "Johnson", "Brown", "Garcia", "Miller", "Davis", "Wilson", "Anderson", "Taylor", "Moore"};
+    private static final String[] PHONE_PREFIXES = {"010", "011", "012", "015"};
+
+    private final LoadTestProperties properties;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long start = System.nanoTime();
+        long[] departmentIds = insertDepartments();
+        long firstEmployeeId = nextId("employees") + 1;
+        insertEmployees(departmentIds, firstEmployeeId);
+        restartSequence("employees_seq", firstEmployeeId + properties.employees());
+        log.info("Load test data: {} departments and {} employees generated with seed {} in {} ms on {} threads",
+                departmentIds.length, properties.employees(), properties.seed(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), properties.threads());
+    }
+
+    private long[] insertDepartments() {
+        int existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM departments", Integer.class);
+        List<Object[]> names = new ArrayList<>();
+        for (int i = existing; i < properties.departments(); i++) {
+            names.add(new Object[]{departmentName(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO departments (name) VALUES (?)", names);
+        return jdbcTemplate.queryForList("SELECT id FROM departments ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private void insertEmployees(long[] departmentIds, long firstId) throws InterruptedException, ExecutionException {
+        double[] cumulativeWeights = zipfWeights(departmentIds.length);
+        long chunks = (properties.employees() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ExecutorService executor = Executors.newFixedThreadPool(properties.threads());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long from = chunk * CHUNK_SIZE;
+                long to = Math.min(from + CHUNK_SIZE, properties.employees());
+                long chunkNumber = chunk;
+                futures.add(executor.submit(() -> {
+                    insertChunk(chunkNumber, from, to, firstId, departmentIds, cumulativeWeights);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void insertChunk(long chunk, long from, long to, long firstId, long[] departmentIds,
+                             double[] cumulativeWeights) throws SQLException {
+        SplittableRandom random = new SplittableRandom(mix(properties.seed() ^ mix(chunk)));
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    INSERT INTO employees (id, first_name, last_name, email, date_of_birth, hire_date, phone_number,
+                                           salary, department_id)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """)) {
+                for (long i = from; i < to; i++) {
+                    bindEmployee(statement, random, firstId + i, departmentIds, cumulativeWeights);
+                    statement.addBatch();
+                    if ((i - from + 1) % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static void bindEmployee(PreparedStatement statement, SplittableRandom random, long id,
+                                     long[] departmentIds, double[] cumulativeWeights) throws SQLException {
+        int department = pick(cumulativeWeights, random.nextDouble());
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        int age = (int) Math.round(Math.clamp(38 + 9 * random.nextGaussian(), 22, 65));
+        LocalDate dateOfBirth = TODAY.minusYears(age).minusDays(random.nextInt(365));
+        double yearsOfService = Math.min(-5 * Math.log(1 - random.nextDouble()), age - 21);
+        LocalDate hireDate = TODAY.minusDays((long) (yearsOfService * 365));
+        double median = MEDIAN_SALARIES[department % MEDIAN_SALARIES.length];
+        double salary = Math.round(median * Math.exp(0.35 * random.nextGaussian()) * (1 + 0.03 * yearsOfService) * 100) / 100.0;
+
+        statement.setLong(1, id);
+        statement.setString(2, firstName);
+        statement.setString(3, lastName);
+        statement.setString(4, (firstName + "." + lastName + "." + id + "@example.com").toLowerCase());
+        statement.setDate(5, Date.valueOf(dateOfBirth));
+        statement.setDate(6, Date.valueOf(hireDate));
+        statement.setString(7, PHONE_PREFIXES[random.nextInt(PHONE_PREFIXES.length)] + (10_000_000 + random.nextInt(90_000_000)));
+        statement.setDouble(8, salary);
+        statement.setLong(9, departmentIds[department]);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * Moves the pooled sequence past {@code nextFreeId}; one extra increment keeps the whole block Hibernate
+     * takes from the next value above the inserted ids.
+     */
+    private void restartSequence(String sequence, long nextFreeId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (nextFreeId + 50));
+    }
+
+    private static String departmentName(int index) {
+        return FUNCTIONS[index % FUNCTIONS.length] + " " + (index / FUNCTIONS.length + 1);
+    }
+
+    /**
+     * Cumulative weights {@code 1 / (k + 1)^0.8}, normalised to 1, so the first departments are the largest.
+     */
+    static double[] zipfWeights(int departments) {
+        double[] cumulative = new double[departments];
+        double sum = 0;
+        for (int k = 0; k < departments; k++) {
+            sum += 1 / Math.pow(k + 1, 0.8);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < departments; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    static int pick(double[] cumulativeWeights, double value) {
+        int index = Arrays.binarySearch(cumulativeWeights, value);
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
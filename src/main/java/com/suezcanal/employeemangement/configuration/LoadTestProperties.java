@@ -0,0 +1,23 @@
+package com.suezcanal.employeemangement.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size and seed of the synthetic data set generated under the {@code loadtest} profile. The same seed and sizes
+ * always produce the same rows, whatever {@code threads} is.
+ */
+@ConfigurationProperties(prefix = "loadtest")
+public record LoadTestProperties(int departments, long employees, long seed, int threads) {
+
+    public LoadTestProperties {
+        if (departments < 1) {
+            throw new IllegalArgumentException("loadtest.departments must be at least 1");
+        }
+        if (employees < 0) {
+            throw new IllegalArgumentException("loadtest.employees must not be negative");
+        }
+        if (threads < 1) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+    }
+}
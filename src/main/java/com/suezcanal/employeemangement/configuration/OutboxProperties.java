@@ -0,0 +1,31 @@
+package com.suezcanal.employeemangement.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Outbox relay tuning: how many events a batch and a run may hold, how failed events are retried, the backlog
+ * above which the relay warns that consumers are falling behind, and how long the relay's cluster lock outlives
+ * its last batch.
+ */
+@ConfigurationProperties(prefix = "outbox")
+public record OutboxProperties(int batchSize, int maxBatchesPerRun, int maxAttempts, Duration initialBackoff,
+                               Duration maxBackoff, long backlogWarningThreshold,
+                               Duration lockAtMostFor) {
+
+    public OutboxProperties {
+        if (batchSize < 1 || maxBatchesPerRun < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("outbox.batch-size, max-batches-per-run and max-attempts must be at least 1");
+        }
+        if (initialBackoff == null) {
+            initialBackoff = Duration.ofSeconds(1);
+        }
+        if (maxBackoff == null) {
+            maxBackoff = Duration.ofMinutes(5);
+        }
+        if (lockAtMostFor == null) {
+            lockAtMostFor = Duration.ofMinutes(1);
+        }
+    }
+}
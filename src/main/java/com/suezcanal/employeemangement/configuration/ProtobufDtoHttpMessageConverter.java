@@ -0,0 +1,104 @@
+package com.suezcanal.employeemangement.configuration;
+
+import com.google.protobuf.Message;
+import com.suezcanal.employeemangement.dto.CursorPage;
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.mapper.ProtobufMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes employee and department response bodies as protobuf when the client asks for
+ * {@code application/x-protobuf} (or {@code application/protobuf}), so controllers keep returning DTOs. Only the
+ * types in {@code employees.proto} are supported; anything else is not acceptable in protobuf, and request bodies
+ * are always JSON.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType X_PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final MediaType PROTOBUF = new MediaType("application", "protobuf");
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(X_PROTOBUF, PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EmployeeDTO.class.isAssignableFrom(clazz) || DepartmentDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // the element type of a page or list is only known to canWrite(Type, ...), which has already been asked
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && mapping(type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz)) != null;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Message message = mapping(type != null ? ResolvableType.forType(type) : ResolvableType.forClass(body.getClass())).apply(body);
+        outputMessage.getHeaders().setContentLength(message.getSerializedSize());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Message> mapping(ResolvableType type) {
+        Class<?> raw = type.toClass();
+        if (EmployeeDTO.class.isAssignableFrom(raw)) {
+            return body -> ProtobufMapper.toProto((EmployeeDTO) body);
+        }
+        if (DepartmentDTO.class.isAssignableFrom(raw)) {
+            return body -> ProtobufMapper.toProto((DepartmentDTO) body);
+        }
+        if (Page.class.isAssignableFrom(raw) && isOf(type.as(Page.class), EmployeeDTO.class)) {
+            return body -> ProtobufMapper.toProto((Page<EmployeeDTO>) body);
+        }
+        if (CursorPage.class.isAssignableFrom(raw) && isOf(type.as(CursorPage.class), EmployeeDTO.class)) {
+            return body -> ProtobufMapper.toProto((CursorPage<EmployeeDTO>) body);
+        }
+        if (List.class.isAssignableFrom(raw) && isOf(type.as(List.class), DepartmentDTO.class)) {
+            return body -> ProtobufMapper.toProto((List<DepartmentDTO>) body);
+        }
+        return null;
+    }
+
+    private static boolean isOf(ResolvableType container, Class<?> elementType) {
+        Class<?> element = container.getGeneric(0).resolve();
+        return element != null && elementType.isAssignableFrom(element);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,71 @@
+package com.suezcanal.employeemangement.configuration;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Response formats chosen by {@code Accept}: JSON (the default), CBOR ({@code application/cbor}), Smile
+ * ({@code application/x-jackson-smile}) and protobuf ({@code application/x-protobuf}). The CBOR and Smile mappers
+ * are built from the same builder as the JSON one, so the three carry the same fields with the same names and date
+ * formats. Compression on top follows {@code server.compression.*}: gzip by Tomcat, brotli by
+ * {@link BrotliCompressionFilter}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(BrotliProperties.class)
+@Slf4j
+public class ResponseFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public ResponseFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter cbor) {
+                cbor.setObjectMapper(objectMapperBuilder.getObject().factory(new CBORFactory()).build());
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter smile) {
+                smile.setObjectMapper(objectMapperBuilder.getObject().factory(new SmileFactory()).build());
+            }
+        }
+        // last, so JSON stays the answer to Accept: */*
+        converters.add(new ProtobufDtoHttpMessageConverter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<BrotliCompressionFilter> brotliCompressionFilter(ServerProperties serverProperties,
+                                                                                    BrotliProperties brotli) {
+        Compression compression = serverProperties.getCompression();
+        List<MediaType> mimeTypes = Arrays.stream(compression.getMimeTypes()).map(MediaType::parseMediaType).toList();
+        FilterRegistrationBean<BrotliCompressionFilter> registration = new FilterRegistrationBean<>(new BrotliCompressionFilter(
+                mimeTypes, Math.toIntExact(compression.getMinResponseSize().toBytes()), brotli.quality(), brotli.window()));
+        boolean available = Brotli4jLoader.isAvailable();
+        if (brotli.enabled() && !available) {
+            log.warn("Brotli native library not available on this platform, responses are only gzip-compressed", Brotli4jLoader.getUnavailabilityCause());
+        }
+        registration.setEnabled(compression.getEnabled() && brotli.enabled() && available);
+        return registration;
+    }
+}
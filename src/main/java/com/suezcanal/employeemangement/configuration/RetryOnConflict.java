@@ -0,0 +1,18 @@
+package com.suezcanal.employeemangement.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a {@code @Transactional} method in a fresh transaction when it fails with an optimistic or pessimistic
+ * locking conflict; see {@link ConflictRetryAspect}. Only for methods that are safe to repeat after a rollback:
+ * they must re-read what they depend on rather than act on state captured before the first attempt. Not for a
+ * replace of one resource: with If-Match the repeat can only fail the precondition, and without it the repeat
+ * would overwrite the write it conflicted with.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
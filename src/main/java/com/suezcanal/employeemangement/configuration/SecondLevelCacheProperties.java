@@ -0,0 +1,20 @@
+package com.suezcanal.employeemangement.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache regions, keyed by region name. A region without a ttl never expires.
+ */
+@ConfigurationProperties(prefix = "second-level-cache")
+public record SecondLevelCacheProperties(Map<String, Region> regions) {
+
+    public SecondLevelCacheProperties {
+        regions = regions == null ? Map.of() : Map.copyOf(regions);
+    }
+
+    public record Region(long maximumSize, Duration ttl) {
+    }
+}
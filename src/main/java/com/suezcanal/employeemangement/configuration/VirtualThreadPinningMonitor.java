@@ -0,0 +1,108 @@
+package com.suezcanal.employeemangement.configuration;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier (blocking inside {@code synchronized} or a native
+ * frame) for longer than {@code threads.virtual.pinning-threshold}. Listens to the JFR
+ * {@code jdk.VirtualThreadPinned} event in-process; the first occurrence per call site is logged with its stack,
+ * later ones are only counted and summarised on shutdown.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+    private volatile RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(@Value("${threads.virtual.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        recording = stream;
+        log.info("Virtual thread pinning monitor started, reporting pins longer than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = recording;
+        if (stream == null) {
+            return;
+        }
+        recording = null;
+        stream.close();
+        if (!pinnedBySite.isEmpty()) {
+            log.warn("Virtual thread pinning summary: {}", pinnedBySite.entrySet().stream()
+                    .map(entry -> entry.getKey() + " x" + entry.getValue().sum())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public long getPinnedCount() {
+        return pinnedBySite.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String site = stackTrace == null ? "unknown" : callSite(stackTrace);
+        LongAdder count = pinnedBySite.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site,
+                    stackTrace == null ? "" : format(stackTrace));
+        } else if (log.isDebugEnabled()) {
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String callSite(RecordedStackTrace stackTrace) {
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::frame)
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        return stackTrace.getFrames().stream()
+                .limit(MAX_LOGGED_FRAMES)
+                .map(frame -> "\n\tat " + frame(frame))
+                .collect(Collectors.joining());
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
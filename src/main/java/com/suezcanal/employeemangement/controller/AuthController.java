@@ -0,0 +1,45 @@
+package com.suezcanal.employeemangement.controller;
+
+import com.suezcanal.employeemangement.dto.LoginRequest;
+import com.suezcanal.employeemangement.dto.TokenResponse;
+import com.suezcanal.employeemangement.service.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Token issuing for API clients")
+public class AuthController {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @PostMapping("/login")
+    @Operation(summary = "Log in", description = "Exchanges username and password for a short-lived bearer token")
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(loginRequest.getUsername(), loginRequest.getPassword()));
+        String role = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("User has no role: " + authentication.getName()));
+        String token = tokenService.issue(authentication.getName(), role);
+        return ResponseEntity.ok(new TokenResponse(token, "Bearer", tokenService.getTtl().toSeconds()));
+    }
+}
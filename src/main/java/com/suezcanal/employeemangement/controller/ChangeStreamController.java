@@ -0,0 +1,25 @@
+package com.suezcanal.employeemangement.controller;
+
+import com.suezcanal.employeemangement.service.ChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Changes", description = "Live stream of employee and department changes")
+public class ChangeStreamController {
+    private final ChangeFeed changeFeed;
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes", description = "Server-sent events for every committed employee and department create, update and delete. "
+            + "Reconnecting with Last-Event-ID (or since) replays the missed changes; a 'reset' event means they are gone and the client should reload")
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long since) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -0,0 +1,30 @@
+package com.suezcanal.employeemangement.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET over an ETag computed before the body: when If-None-Match matches, the body supplier is never
+ * called, so neither the query nor the serialization runs. Responses carry {@code Cache-Control: no-cache} so
+ * clients may keep them but revalidate on every use. The ETag is sent weak and with {@code Vary: Accept}, since
+ * every response format and content encoding shares it (Tomcat also only gzips responses with weak ETags).
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, String strongETag, Supplier<T> body) {
+        String etag = "W/" + strongETag;
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+}
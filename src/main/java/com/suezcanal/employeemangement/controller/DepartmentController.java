@@ -1,16 +1,26 @@
 package com.suezcanal.employeemangement.controller;
 
+import com.suezcanal.employeemangement.dto.DepartmentCacheStats;
 import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.HeadcountBucket;
+import com.suezcanal.employeemangement.dto.HeadcountPoint;
+import com.suezcanal.employeemangement.dto.SalaryStats;
 import com.suezcanal.employeemangement.model.Department;
 import com.suezcanal.employeemangement.service.DepartmentService;
+import com.suezcanal.employeemangement.service.DepartmentSummaryService;
+import com.suezcanal.employeemangement.service.SalaryStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,11 +29,13 @@ import java.util.List;
 @Tag(name = "Departments", description = "Operations related to departments")
 public class DepartmentController {
     private final DepartmentService departmentService;
+    private final SalaryStatsService salaryStatsService;
+    private final DepartmentSummaryService departmentSummaryService;
 
     @GetMapping
-    @Operation(summary = "Get all departments", description = "Returns a list of all departments")
-    public ResponseEntity<List<DepartmentDTO>> getAllDepartments() {
-        return ResponseEntity.ok(departmentService.getAllDepartments());
+    @Operation(summary = "Get all departments", description = "Returns a list of all departments; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<List<DepartmentDTO>> getAllDepartments(WebRequest request) {
+        return ConditionalGet.respond(request, departmentService.getDepartmentsETag(), departmentService::getAllDepartments);
     }
 
     @PostMapping
@@ -37,10 +49,11 @@ public class DepartmentController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a department", description = "Updates a department record for employees")
-    public ResponseEntity<DepartmentDTO> updateDepartment(@PathVariable Long id, @Valid @RequestBody DepartmentDTO departmentDTO) {
+    @Operation(summary = "Update a department", description = "Updates a department record for employees; with If-Match, only while the department still has that ETag (412 otherwise)")
+    public ResponseEntity<DepartmentDTO> updateDepartment(@PathVariable Long id, @Valid @RequestBody DepartmentDTO departmentDTO,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        Department department = departmentService.updateDepartment(id, departmentDTO);
+        Department department = departmentService.updateDepartment(id, departmentDTO, ifMatch);
         departmentDTO.setId(department.getId());
         return ResponseEntity.status(HttpStatus.OK).body(departmentDTO);
     }
@@ -52,10 +65,38 @@ public class DepartmentController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/cache-stats")
+    @Operation(summary = "Get department cache statistics", description = "Returns hit/miss counters of the in-process department cache")
+    public ResponseEntity<DepartmentCacheStats> getCacheStats() {
+        return ResponseEntity.ok(departmentService.getCacheStats());
+    }
+
+    @GetMapping("/salary-stats")
+    @Operation(summary = "Get salary statistics across departments", description = "Returns count, min, max, mean and p50/p90/p99 salary over all employees")
+    public ResponseEntity<SalaryStats> getSalaryStats() {
+        return ResponseEntity.ok(salaryStatsService.getSalaryStats());
+    }
+
+    @GetMapping("/{id}/salary-stats")
+    @Operation(summary = "Get salary statistics of a department", description = "Returns count, min, max, mean and p50/p90/p99 salary of the department's employees")
+    public ResponseEntity<SalaryStats> getDepartmentSalaryStats(@PathVariable Long id) {
+        return ResponseEntity.ok(salaryStatsService.getDepartmentSalaryStats(id));
+    }
+
+    @GetMapping("/{id}/headcount-history")
+    @Operation(summary = "Get the headcount history of a department", description = "Returns the average, min and max daily headcount per day, week or month between from and to (inclusive, default: the last year)")
+    public ResponseEntity<List<HeadcountPoint>> getHeadcountHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String bucket) {
+        return ResponseEntity.ok(departmentSummaryService.getHeadcountHistory(id, from, to, HeadcountBucket.fromName(bucket)));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get a department by ID", description = "Returns a single department by their ID")
-    public ResponseEntity<DepartmentDTO> getDepartmentById(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(departmentService.getDepartmentById(id));
+    @Operation(summary = "Get a department by ID", description = "Returns a single department by their ID; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<DepartmentDTO> getDepartmentById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, departmentService.getDepartmentETag(id), () -> departmentService.getDepartmentById(id));
     }
 
 }
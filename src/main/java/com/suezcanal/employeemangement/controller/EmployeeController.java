@@ -1,16 +1,37 @@
 package com.suezcanal.employeemangement.controller;
 
+import com.suezcanal.employeemangement.dto.BulkDeleteRequest;
+import com.suezcanal.employeemangement.dto.BulkImportResult;
+import com.suezcanal.employeemangement.dto.BulkUpdateResult;
+import com.suezcanal.employeemangement.dto.CursorPage;
+import com.suezcanal.employeemangement.dto.DepartmentTransferRequest;
 import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDataFormat;
+import com.suezcanal.employeemangement.dto.EmployeeSearchCriteria;
+import com.suezcanal.employeemangement.dto.EmployeeSuggestion;
+import com.suezcanal.employeemangement.dto.SalaryAdjustmentRequest;
+import com.suezcanal.employeemangement.service.EmployeeExportService;
+import com.suezcanal.employeemangement.service.EmployeeImportService;
 import com.suezcanal.employeemangement.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -19,17 +40,52 @@ import org.springframework.web.bind.annotation.*;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeExportService employeeExportService;
 
     @GetMapping
-    @Operation(summary = "Get all employees", description = "Returns a paginated list of all employees")
-    public ResponseEntity<Page<EmployeeDTO>> getAllEmployees(Pageable pageable) {
-        return ResponseEntity.ok(employeeService.getAllEmployees(pageable));
+    @Operation(summary = "Get all employees", description = "Returns a paginated list of all employees; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<Page<EmployeeDTO>> getAllEmployees(Pageable pageable, WebRequest request) {
+        return ConditionalGet.respond(request, employeeService.getEmployeesETag(), () -> employeeService.getAllEmployees(pageable));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Get employees after a cursor", description = "Returns employees ordered by id after the given cursor (empty for the first page) without a total count; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<CursorPage<EmployeeDTO>> getEmployeesAfter(@RequestParam String after,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     WebRequest request) {
+        return ConditionalGet.respond(request, employeeService.getEmployeesETag(), () -> employeeService.getEmployeesAfter(after, size));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search employees", description = "Returns a paginated list of employees filtered by department id/name, salary range, hire-date range and last-name prefix")
+    public ResponseEntity<Page<EmployeeDTO>> searchEmployees(@ParameterObject EmployeeSearchCriteria criteria,
+                                                             @ParameterObject Pageable pageable) {
+        return ResponseEntity.ok(employeeService.searchEmployees(criteria, pageable));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest employees", description = "Returns employees whose first name, last name or email starts with q (ignoring case) from an in-memory index")
+    public ResponseEntity<List<EmployeeSuggestion>> suggestEmployees(@RequestParam String q,
+                                                                     @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.suggestEmployees(q, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all employees", description = "Streams every employee as NDJSON (default) or CSV (format=csv)")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+        EmployeeDataFormat dataFormat = EmployeeDataFormat.fromName(format);
+        String filename = "employees." + dataFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(dataFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(output -> employeeExportService.exportEmployees(output, dataFormat));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get employee by ID", description = "Returns a single employee by their ID")
-    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+    @Operation(summary = "Get employee by ID", description = "Returns a single employee by their ID; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, employeeService.getEmployeeETag(id), () -> employeeService.getEmployeeById(id));
     }
 
     @PostMapping
@@ -38,11 +94,37 @@ public class EmployeeController {
         return new ResponseEntity<>(employeeService.createEmployee(employeeDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = {EmployeeDataFormat.NDJSON_VALUE, EmployeeDataFormat.CSV_VALUE})
+    @Operation(summary = "Bulk import employees", description = "Streams an NDJSON or CSV body, imports valid rows in batches and reports per-row errors")
+    public ResponseEntity<BulkImportResult> importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                            InputStream body) throws IOException {
+        return ResponseEntity.ok(employeeImportService.importEmployees(body, EmployeeDataFormat.fromMediaType(contentType)));
+    }
+
+    @PostMapping("/bulk/salary-adjustment")
+    @Operation(summary = "Adjust salaries of a department", description = "Changes every salary in the department by a percentage with one UPDATE statement and returns the number of employees updated")
+    public ResponseEntity<BulkUpdateResult> adjustSalaries(@Valid @RequestBody SalaryAdjustmentRequest request) {
+        return ResponseEntity.ok(employeeService.adjustSalaries(request));
+    }
+
+    @PostMapping("/bulk/department-transfer")
+    @Operation(summary = "Move employees to a department", description = "Moves the employees matching the search filters to the target department with one UPDATE statement and returns the number of employees moved")
+    public ResponseEntity<BulkUpdateResult> transferEmployees(@Valid @RequestBody DepartmentTransferRequest request) {
+        return ResponseEntity.ok(employeeService.transferEmployees(request));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete employees by id", description = "Deletes the listed employees with one DELETE statement and returns the number of employees deleted; unknown ids are ignored")
+    public ResponseEntity<BulkUpdateResult> deleteEmployees(@Valid @RequestBody BulkDeleteRequest request) {
+        return ResponseEntity.ok(employeeService.deleteEmployees(request.ids()));
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update an employee", description = "Updates an existing employee's information")
+    @Operation(summary = "Update an employee", description = "Updates an existing employee's information; with If-Match, only while the employee still has that ETag (412 otherwise)")
     public ResponseEntity<EmployeeDTO> updateEmployee(@PathVariable Long id,
-                                                      @Valid @RequestBody EmployeeDTO employeeDTO) {
-        return ResponseEntity.ok(employeeService.updateEmployee(id, employeeDTO));
+                                                      @Valid @RequestBody EmployeeDTO employeeDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(employeeService.updateEmployee(id, employeeDTO, ifMatch));
     }
 
     @DeleteMapping("/{id}")
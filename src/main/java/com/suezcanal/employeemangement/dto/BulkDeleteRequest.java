@@ -0,0 +1,12 @@
+package com.suezcanal.employeemangement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkDeleteRequest(
+        @NotEmpty(message = "At least one id is required")
+        @Size(max = 10000, message = "At most 10000 ids can be deleted at once") List<@NotNull Long> ids) {
+}
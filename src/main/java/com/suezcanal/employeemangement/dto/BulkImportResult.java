@@ -0,0 +1,9 @@
+package com.suezcanal.employeemangement.dto;
+
+import java.util.List;
+
+public record BulkImportResult(long received, long imported, long failed, List<RowError> errors) {
+
+    public record RowError(long line, String email, String message) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.suezcanal.employeemangement.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed employee or department change as streamed by GET /api/changes/stream and published on the
+ * in-process event bus of every instance. {@code sequence} orders changes cluster-wide and is the SSE event id a
+ * client resumes from; {@code payload} is the JSON recorded with the change.
+ */
+public record ChangeEvent(long sequence, OutboxEventType type, Long aggregateId, @JsonRawValue String payload,
+                          LocalDateTime createdAt) {
+}
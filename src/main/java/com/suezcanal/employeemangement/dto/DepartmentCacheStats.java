@@ -0,0 +1,4 @@
+package com.suezcanal.employeemangement.dto;
+
+public record DepartmentCacheStats(long hits, long misses, double hitRate, long evictions, long size) {
+}
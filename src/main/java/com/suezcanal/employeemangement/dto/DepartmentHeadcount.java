@@ -0,0 +1,4 @@
+package com.suezcanal.employeemangement.dto;
+
+public record DepartmentHeadcount(Long departmentId, String departmentName, long employeeCount) {
+}
@@ -0,0 +1,12 @@
+package com.suezcanal.employeemangement.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Body of POST /api/employees/bulk/department-transfer: moves the employees matching {@code filter} (the
+ * filters of GET /api/employees/search, at least one of them set) to the target department.
+ */
+public record DepartmentTransferRequest(
+        @NotNull(message = "Filter is required") EmployeeSearchCriteria filter,
+        @NotNull(message = "Target department id is required") Long targetDepartmentId) {
+}
@@ -2,9 +2,11 @@ package com.suezcanal.employeemangement.dto;
 
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class EmployeeDTO {
     private Long id;
     
@@ -35,5 +37,19 @@ public class EmployeeDTO {
     
     @NotNull(message = "Department is required")
     private DepartmentDTO department;
-    
+
+    public EmployeeDTO(Long id, String firstName, String lastName, String email, LocalDate dateOfBirth, LocalDate hireDate,
+                       String phoneNumber, Double salary, Long departmentId, String departmentName) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.dateOfBirth = dateOfBirth;
+        this.hireDate = hireDate;
+        this.phoneNumber = phoneNumber;
+        this.salary = salary;
+        this.department = new DepartmentDTO();
+        this.department.setId(departmentId);
+        this.department.setName(departmentName);
+    }
 }
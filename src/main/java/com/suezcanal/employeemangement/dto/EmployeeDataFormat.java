@@ -0,0 +1,40 @@
+package com.suezcanal.employeemangement.dto;
+
+import com.suezcanal.employeemangement.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum EmployeeDataFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    public static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    EmployeeDataFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static EmployeeDataFormat fromName(String name) {
+        for (EmployeeDataFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported format: " + name);
+    }
+
+    public static EmployeeDataFormat fromMediaType(MediaType mediaType) {
+        for (EmployeeDataFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported media type: " + mediaType);
+    }
+}
@@ -0,0 +1,19 @@
+package com.suezcanal.employeemangement.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters of GET /api/employees/search; null fields are not applied. {@code name} is a case-sensitive
+ * prefix of the last name so it can use the (last_name, first_name) index.
+ */
+public record EmployeeSearchCriteria(
+        Long departmentId,
+        String departmentName,
+        Double salaryMin,
+        Double salaryMax,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
+        String name) {
+}
@@ -0,0 +1,4 @@
+package com.suezcanal.employeemangement.dto;
+
+public record EmployeeSuggestion(Long id, String firstName, String lastName, String email) {
+}
@@ -0,0 +1,8 @@
+package com.suezcanal.employeemangement.dto;
+
+/**
+ * Versions that together identify the representation of one employee: its own and that of the department whose
+ * name it embeds.
+ */
+public record EmployeeVersion(Long version, Long departmentVersion) {
+}
@@ -0,0 +1,32 @@
+package com.suezcanal.employeemangement.dto;
+
+import com.suezcanal.employeemangement.exception.BadRequestException;
+
+/**
+ * Downsampling interval of the headcount history. {@code sqlUnit} is the H2 {@code DATE_TRUNC} unit; weeks start
+ * on Monday.
+ */
+public enum HeadcountBucket {
+    DAY("DAY"),
+    WEEK("ISO_WEEK"),
+    MONTH("MONTH");
+
+    private final String sqlUnit;
+
+    HeadcountBucket(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+
+    public static HeadcountBucket fromName(String name) {
+        for (HeadcountBucket bucket : values()) {
+            if (bucket.name().equalsIgnoreCase(name)) {
+                return bucket;
+            }
+        }
+        throw new BadRequestException("Unsupported bucket: " + name);
+    }
+}
@@ -0,0 +1,10 @@
+package com.suezcanal.employeemangement.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Headcount of one department over one bucket: the mean, min and max of the daily samples falling into it.
+ */
+public record HeadcountPoint(LocalDate bucketStart, double averageEmployees, int minEmployees, int maxEmployees,
+                             long samples) {
+}
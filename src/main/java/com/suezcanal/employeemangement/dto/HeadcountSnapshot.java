@@ -0,0 +1,6 @@
+package com.suezcanal.employeemangement.dto;
+
+import java.time.LocalDateTime;
+
+public record HeadcountSnapshot(Long departmentId, long employeeCount, LocalDateTime timestamp) {
+}
@@ -0,0 +1,16 @@
+package com.suezcanal.employeemangement.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Body of POST /api/employees/bulk/salary-adjustment: every salary in the department is multiplied by
+ * {@code 1 + percent / 100} and rounded to cents.
+ */
+public record SalaryAdjustmentRequest(
+        @NotNull(message = "Department id is required") Long departmentId,
+        @NotNull(message = "Percent is required")
+        @DecimalMin(value = "-100", inclusive = false, message = "Percent must be greater than -100")
+        @DecimalMax(value = "1000", message = "Percent must be at most 1000") Double percent) {
+}
@@ -0,0 +1,9 @@
+package com.suezcanal.employeemangement.dto;
+
+/**
+ * Salary aggregates of one department, or of every employee when {@code departmentId} is null. Percentiles use
+ * the nearest-rank method; all values except {@code count} are null when there are no employees.
+ */
+public record SalaryStats(Long departmentId, long count, Double min, Double max, Double mean,
+                          Double p50, Double p90, Double p99) {
+}
@@ -0,0 +1,17 @@
+package com.suezcanal.employeemangement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+
+    private String accessToken;
+
+    private String tokenType;
+
+    private long expiresIn;
+}
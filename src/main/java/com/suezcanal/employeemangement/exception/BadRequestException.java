@@ -0,0 +1,15 @@
+package com.suezcanal.employeemangement.exception;
+
+/**
+ * A request whose parameters or body the application rejects beyond bean validation, answered with 400.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
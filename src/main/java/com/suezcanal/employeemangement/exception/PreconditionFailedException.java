@@ -0,0 +1,11 @@
+package com.suezcanal.employeemangement.exception;
+
+/**
+ * A conditional write whose {@code If-Match} no longer names the current version of the resource.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.suezcanal.employeemangement.exception;
+
+/**
+ * A new change stream subscription while the instance already serves {@code changes.max-subscribers}.
+ */
+public class SubscriberLimitExceededException extends RuntimeException {
+
+    public SubscriberLimitExceededException(String message) {
+        super(message);
+    }
+}
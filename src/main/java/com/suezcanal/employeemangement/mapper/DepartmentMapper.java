@@ -0,0 +1,12 @@
+package com.suezcanal.employeemangement.mapper;
+
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.model.Department;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface DepartmentMapper {
+
+    DepartmentDTO toDTO(Department department);
+}
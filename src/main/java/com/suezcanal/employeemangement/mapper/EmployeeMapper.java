@@ -0,0 +1,30 @@
+package com.suezcanal.employeemangement.mapper;
+
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.model.Employee;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+/**
+ * Compile-time generated Employee mapping. The department is never copied from a DTO onto an entity;
+ * callers resolve it by name and set it themselves.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = DepartmentMapper.class,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface EmployeeMapper {
+
+    EmployeeDTO toDTO(Employee employee);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "department", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Employee toEntity(EmployeeDTO dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "department", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(EmployeeDTO dto, @MappingTarget Employee employee);
+}
@@ -0,0 +1,91 @@
+package com.suezcanal.employeemangement.mapper;
+
+import com.suezcanal.employeemangement.dto.CursorPage;
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.proto.Department;
+import com.suezcanal.employeemangement.proto.DepartmentList;
+import com.suezcanal.employeemangement.proto.Employee;
+import com.suezcanal.employeemangement.proto.EmployeeCursorPage;
+import com.suezcanal.employeemangement.proto.EmployeePage;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * DTOs to the messages of {@code src/main/proto/employees.proto}. Null DTO fields are left unset rather than
+ * written as defaults, so a reader can tell a missing phone number from an empty one.
+ */
+public final class ProtobufMapper {
+
+    private ProtobufMapper() {
+    }
+
+    public static Department toProto(DepartmentDTO dto) {
+        Department.Builder builder = Department.newBuilder();
+        if (dto.getId() != null) {
+            builder.setId(dto.getId());
+        }
+        if (dto.getName() != null) {
+            builder.setName(dto.getName());
+        }
+        return builder.build();
+    }
+
+    public static Employee toProto(EmployeeDTO dto) {
+        Employee.Builder builder = Employee.newBuilder();
+        if (dto.getId() != null) {
+            builder.setId(dto.getId());
+        }
+        if (dto.getFirstName() != null) {
+            builder.setFirstName(dto.getFirstName());
+        }
+        if (dto.getLastName() != null) {
+            builder.setLastName(dto.getLastName());
+        }
+        if (dto.getEmail() != null) {
+            builder.setEmail(dto.getEmail());
+        }
+        if (dto.getDateOfBirth() != null) {
+            builder.setDateOfBirth(Math.toIntExact(dto.getDateOfBirth().toEpochDay()));
+        }
+        if (dto.getHireDate() != null) {
+            builder.setHireDate(Math.toIntExact(dto.getHireDate().toEpochDay()));
+        }
+        if (dto.getPhoneNumber() != null) {
+            builder.setPhoneNumber(dto.getPhoneNumber());
+        }
+        if (dto.getSalary() != null) {
+            builder.setSalary(dto.getSalary());
+        }
+        if (dto.getDepartment() != null) {
+            builder.setDepartment(toProto(dto.getDepartment()));
+        }
+        return builder.build();
+    }
+
+    public static EmployeePage toProto(Page<EmployeeDTO> page) {
+        EmployeePage.Builder builder = EmployeePage.newBuilder()
+                .setNumber(page.getNumber())
+                .setSize(page.getSize())
+                .setTotalElements(page.getTotalElements())
+                .setTotalPages(page.getTotalPages());
+        page.getContent().forEach(employee -> builder.addContent(toProto(employee)));
+        return builder.build();
+    }
+
+    public static EmployeeCursorPage toProto(CursorPage<EmployeeDTO> page) {
+        EmployeeCursorPage.Builder builder = EmployeeCursorPage.newBuilder().setSize(page.size());
+        if (page.nextCursor() != null) {
+            builder.setNextCursor(page.nextCursor());
+        }
+        page.content().forEach(employee -> builder.addContent(toProto(employee)));
+        return builder.build();
+    }
+
+    public static DepartmentList toProto(List<DepartmentDTO> departments) {
+        DepartmentList.Builder builder = DepartmentList.newBuilder();
+        departments.forEach(department -> builder.addDepartments(toProto(department)));
+        return builder.build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.suezcanal.employeemangement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A relayed employee or department change, kept for {@code changes.retention} after it was relayed so every
+ * instance can stream it and reconnecting clients can catch up. Only the outbox relay writes here, and each of its
+ * batch transactions first extends the relay's cluster lock, which serializes batches across instances even when a
+ * run outlives the lock. So ids grow in commit order and a reader that has seen id {@code n} never misses a later
+ * row below it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OutboxEventType type;
+
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 1_000_000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -10,19 +10,48 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "daily_summaries")
+@Table(name = "daily_summaries", indexes = {
+        @Index(name = "idx_daily_summaries_department_id_timestamp", columnList = "department_id, timestamp")
+})
 public class DailySummary {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_summaries_seq")
+    @SequenceGenerator(name = "daily_summaries_seq", sequenceName = "daily_summaries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
     @JoinColumn(name = "department_id", nullable = false)
     private Department department;
 
+    /**
+     * Headcount of a daily row; the rounded mean of the rolled-up days for a monthly row, for display only.
+     */
     @Column(nullable = false)
     private Integer employeeCount;
 
+    @Column(nullable = false)
+    private Integer minEmployeeCount;
+
+    @Column(nullable = false)
+    private Integer maxEmployeeCount;
+
+    /**
+     * Number of daily samples the row stands for: 1 for a daily row.
+     */
+    @Column(nullable = false)
+    private Integer samples;
+
+    /**
+     * Sum of the daily headcounts the row stands for: the headcount itself for a daily row. Averages are taken
+     * from this sum so rolling a month up loses no precision.
+     */
+    @Column(nullable = false)
+    private Long employeeDays;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private SummaryResolution resolution;
+
     @Column(nullable = false)
     private LocalDateTime timestamp;
 }
@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -14,6 +17,7 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "departments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 @ToString(exclude = "employees")
 public class Department implements Comparable<Department> {
     @Id
@@ -27,6 +31,14 @@ public class Department implements Comparable<Department> {
     @OneToMany(mappedBy = "department")
     private List<Employee> employees;
 
+    /**
+     * Incremented by every update and served as the department's ETag.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Override
     public int compareTo(Department o) {
         return id.compareTo(o.getId());
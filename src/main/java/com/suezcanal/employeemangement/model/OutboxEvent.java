@@ -0,0 +1,52 @@
+package com.suezcanal.employeemangement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change recorded in the same transaction as the write that caused it, waiting for the outbox relay. Rows are
+ * deleted once every consumer has processed them; a row whose {@code attempts} reached the configured maximum is
+ * a dead letter and is left for inspection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    /**
+     * Grows with insertion order; the relay delivers in id order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OutboxEventType type;
+
+    /**
+     * The employee or department the event is about; null for events spanning many rows.
+     */
+    private Long aggregateId;
+
+    /**
+     * JSON document whose shape depends on {@link #type}.
+     */
+    @Column(nullable = false, length = 1_000_000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+}
@@ -0,0 +1,15 @@
+package com.suezcanal.employeemangement.model;
+
+public enum OutboxEventType {
+    EMPLOYEE_CREATED,
+    EMPLOYEE_UPDATED,
+    EMPLOYEE_DELETED,
+    EMPLOYEES_IMPORTED,
+    SALARIES_ADJUSTED,
+    EMPLOYEES_TRANSFERRED,
+    EMPLOYEES_DELETED,
+    DEPARTMENT_CREATED,
+    DEPARTMENT_UPDATED,
+    DEPARTMENT_DELETED,
+    HEADCOUNT_RECORDED
+}
@@ -0,0 +1,10 @@
+package com.suezcanal.employeemangement.model;
+
+/**
+ * Period covered by one {@link DailySummary} row: a single daily sample, or a month of daily samples rolled up by
+ * the retention job.
+ */
+public enum SummaryResolution {
+    DAY,
+    MONTH
+}
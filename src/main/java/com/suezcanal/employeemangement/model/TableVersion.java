@@ -0,0 +1,28 @@
+package com.suezcanal.employeemangement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter of one table, moved by every committed write to it. Collection ETags are built from these rows,
+ * so every instance sharing the database hands out the same tag for the same data.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "table_versions")
+public class TableVersion {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,32 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.model.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("select e from ChangeLogEntry e where e.id > :after and e.id <= :upTo order by e.id")
+    List<ChangeLogEntry> findBetween(long after, long upTo, Limit limit);
+
+    @Query("select count(e) from ChangeLogEntry e where e.id > :after and e.id <= :upTo")
+    long countBetween(long after, long upTo);
+
+    @Query("select e from ChangeLogEntry e where e.id > :after order by e.id")
+    List<ChangeLogEntry> findAfter(long after, Limit limit);
+
+    @Query("select coalesce(max(e.id), 0) from ChangeLogEntry e")
+    long findLastId();
+
+    @Query("select min(e.id) from ChangeLogEntry e")
+    Long findFirstId();
+
+    @Modifying
+    @Query("delete from ChangeLogEntry e where e.createdAt < :before")
+    int deleteCreatedBefore(LocalDateTime before);
+}
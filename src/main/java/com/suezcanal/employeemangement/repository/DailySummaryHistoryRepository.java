@@ -0,0 +1,18 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.dto.HeadcountBucket;
+import com.suezcanal.employeemangement.dto.HeadcountPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DailySummaryHistoryRepository {
+
+    /**
+     * Downsamples one department's summaries with {@code timestamp} in {@code [from, to)} into buckets in SQL,
+     * reading only the (department_id, timestamp) index range. Monthly rows count with the number of days they
+     * stand for, so month buckets average the same before and after a rollup; a rolled-up month has month
+     * granularity only and falls whole into the day or week bucket of its first day.
+     */
+    List<HeadcountPoint> findHeadcountHistory(Long departmentId, LocalDateTime from, LocalDateTime to, HeadcountBucket bucket);
+}
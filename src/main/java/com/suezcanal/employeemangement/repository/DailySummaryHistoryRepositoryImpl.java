@@ -0,0 +1,47 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.dto.HeadcountBucket;
+import com.suezcanal.employeemangement.dto.HeadcountPoint;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+class DailySummaryHistoryRepositoryImpl implements DailySummaryHistoryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HeadcountPoint> findHeadcountHistory(Long departmentId, LocalDateTime from, LocalDateTime to, HeadcountBucket bucket) {
+        String bucketStart = "CAST(DATE_TRUNC('" + bucket.getSqlUnit() + "', s.timestamp) AS DATE)";
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT %1$s AS bucket_start,
+                               CAST(SUM(s.employee_days) AS DOUBLE PRECISION) / SUM(s.samples) AS average_employees,
+                               MIN(s.min_employee_count) AS min_employees,
+                               MAX(s.max_employee_count) AS max_employees,
+                               SUM(s.samples) AS samples
+                        FROM daily_summaries s
+                        WHERE s.department_id = :departmentId AND s.timestamp >= :from AND s.timestamp < :to
+                        GROUP BY %1$s
+                        ORDER BY %1$s
+                        """.formatted(bucketStart))
+                .setParameter("departmentId", departmentId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .unwrap(NativeQuery.class)
+                .addScalar("bucket_start", LocalDate.class)
+                .addScalar("average_employees", Double.class)
+                .addScalar("min_employees", Integer.class)
+                .addScalar("max_employees", Integer.class)
+                .addScalar("samples", Long.class)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new HeadcountPoint((LocalDate) row[0], (Double) row[1], (Integer) row[2], (Integer) row[3], (Long) row[4]))
+                .toList();
+    }
+}
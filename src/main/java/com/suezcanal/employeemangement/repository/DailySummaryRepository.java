@@ -1,9 +1,38 @@
 package com.suezcanal.employeemangement.repository;
 
 import com.suezcanal.employeemangement.model.DailySummary;
+import com.suezcanal.employeemangement.model.SummaryResolution;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+
 @Repository
-public interface DailySummaryRepository extends JpaRepository<DailySummary, Long> {
+public interface DailySummaryRepository extends JpaRepository<DailySummary, Long>, DailySummaryHistoryRepository {
+
+    /**
+     * Writes one MONTH row per department and month for the daily rows before {@code before}, which must be the
+     * first instant of a month so no month is split. The row keeps the exact sum of the daily headcounts, so
+     * averages over whole months are unchanged; the days within the month are no longer told apart.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_summaries (id, department_id, timestamp, employee_count, min_employee_count,
+                                         max_employee_count, samples, employee_days, resolution)
+            SELECT NEXT VALUE FOR daily_summaries_seq, department_id, month_start,
+                   ROUND(CAST(total AS DOUBLE PRECISION) / samples), min_count, max_count, samples, total, 'MONTH'
+            FROM (SELECT department_id, DATE_TRUNC('MONTH', timestamp) AS month_start,
+                         SUM(employee_days) AS total, MIN(min_employee_count) AS min_count,
+                         MAX(max_employee_count) AS max_count, SUM(samples) AS samples
+                  FROM daily_summaries
+                  WHERE resolution = 'DAY' AND timestamp < :before
+                  GROUP BY department_id, DATE_TRUNC('MONTH', timestamp))
+            """, nativeQuery = true)
+    int insertMonthlyRollups(LocalDateTime before);
+
+    @Modifying
+    @Query("delete from DailySummary s where s.resolution = :resolution and s.timestamp < :before")
+    int deleteByResolutionBefore(SummaryResolution resolution, LocalDateTime before);
 }
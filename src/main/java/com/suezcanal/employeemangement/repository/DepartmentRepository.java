@@ -1,12 +1,37 @@
 package com.suezcanal.employeemangement.repository;
 
+import com.suezcanal.employeemangement.dto.DepartmentHeadcount;
 import com.suezcanal.employeemangement.model.Department;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "department-queries")})
     Optional<Department> findByName(String name);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "department-queries")})
+    Optional<Department> findByNameIgnoreCase(String name);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "department-queries")})
     boolean existsByNameIgnoreCase(String name);
+
+    @Query("select d.id from Department d where d.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("select new com.suezcanal.employeemangement.dto.DepartmentHeadcount(d.id, d.name, count(e.id)) " +
+            "from Department d left join d.employees e where d.id between :fromId and :toId " +
+            "group by d.id, d.name order by d.id")
+    List<DepartmentHeadcount> countEmployeesPerDepartmentBetween(Long fromId, Long toId);
 }
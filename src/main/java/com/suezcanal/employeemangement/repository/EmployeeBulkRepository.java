@@ -0,0 +1,14 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EmployeeBulkRepository {
+
+    /**
+     * Moves every employee matching the specification and not already in the department with one UPDATE
+     * statement. Pending changes are flushed first and the persistence context is cleared afterwards, so
+     * entities loaded later in the transaction see the new department. Returns the number of employees moved.
+     */
+    int moveToDepartment(Specification<Employee> specification, Long departmentId);
+}
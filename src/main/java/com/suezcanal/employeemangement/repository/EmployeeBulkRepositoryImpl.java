@@ -0,0 +1,33 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+@RequiredArgsConstructor
+class EmployeeBulkRepositoryImpl implements EmployeeBulkRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int moveToDepartment(Specification<Employee> specification, Long departmentId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        update.set(employee.get("department"), entityManager.getReference(Department.class, departmentId));
+        update.set(employee.<Long>get("version"), cb.sum(employee.get("version"), 1L));
+        update.where(Specification.<Employee>where((root, query, builder) -> builder.notEqual(root.get("department").get("id"), departmentId))
+                .and(specification)
+                .toPredicate(employee, null, cb));
+
+        entityManager.flush();
+        int moved = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return moved;
+    }
+}
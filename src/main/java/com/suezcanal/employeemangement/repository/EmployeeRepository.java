@@ -1,14 +1,104 @@
 package com.suezcanal.employeemangement.repository;
 
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeSuggestion;
+import com.suezcanal.employeemangement.dto.EmployeeVersion;
 import com.suezcanal.employeemangement.model.Employee;
-import com.suezcanal.employeemangement.model.Department;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeSearchRepository, EmployeeBulkRepository {
+    String EMPLOYEE_DTO_SELECT = "select new com.suezcanal.employeemangement.dto.EmployeeDTO(" +
+            "e.id, e.firstName, e.lastName, e.email, e.dateOfBirth, e.hireDate, e.phoneNumber, e.salary, d.id, d.name) " +
+            "from Employee e join e.department d";
+
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
-    int countByDepartment(Department department);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    @Query(value = EMPLOYEE_DTO_SELECT, countQuery = "select count(e) from Employee e")
+    Page<EmployeeDTO> findAllDtos(Pageable pageable);
+
+    @Query(EMPLOYEE_DTO_SELECT + " where e.id = :id")
+    Optional<EmployeeDTO> findDtoById(Long id);
+
+    @Query("select new com.suezcanal.employeemangement.dto.EmployeeVersion(e.version, d.version) " +
+            "from Employee e join e.department d where e.id = :id")
+    Optional<EmployeeVersion> findVersionById(Long id);
+
+    @Query("select e.department.id from Employee e where e.id = :id")
+    Optional<Long> findDepartmentIdById(Long id);
+
+    @Query(EMPLOYEE_DTO_SELECT + " where e.id > :id order by e.id")
+    List<EmployeeDTO> findDtosAfter(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EMPLOYEE_DTO_SELECT + " order by e.id")
+    Stream<EmployeeDTO> streamAllDtos();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.suezcanal.employeemangement.dto.EmployeeSuggestion(e.id, e.firstName, e.lastName, e.email) " +
+            "from Employee e")
+    Stream<EmployeeSuggestion> streamSuggestions();
+
+    @Query("select new com.suezcanal.employeemangement.dto.EmployeeSuggestion(e.id, e.firstName, e.lastName, e.email) " +
+            "from Employee e where e.id in :ids")
+    List<EmployeeSuggestion> findSuggestionsByIdIn(Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e.email from Employee e")
+    Stream<String> streamEmails();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e.salary from Employee e where e.department.id = :departmentId and e.salary is not null order by e.salary")
+    Stream<Double> streamSalariesByDepartment(Long departmentId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e.salary from Employee e where e.salary is not null order by e.salary")
+    Stream<Double> streamSalaries();
+
+    /**
+     * Multiplies the salaries of a department by {@code factor}, rounded to cents, and bumps their versions in one
+     * UPDATE statement.
+     * Pending changes are flushed first and the persistence context is cleared afterwards so no managed entity
+     * keeps a stale salary.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.salary = round(e.salary * :factor, 2), e.version = e.version + 1 where e.department.id = :departmentId and e.salary is not null")
+    int adjustSalariesByDepartment(Long departmentId, double factor);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,17 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EmployeeSearchRepository {
+
+    /**
+     * Pages employees matching the specification as DTOs with one single-table select plus one count query.
+     * Only the department id is populated; departments are not joined so the planner can pick the
+     * filter's index. Unsorted requests are ordered by id; other sorts get id as a tie-breaker.
+     */
+    Page<EmployeeDTO> searchDtos(Specification<Employee> specification, Pageable pageable);
+}
@@ -0,0 +1,62 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+@RequiredArgsConstructor
+class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<EmployeeDTO> searchDtos(Specification<Employee> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDTO> query = cb.createQuery(EmployeeDTO.class);
+        Root<Employee> employee = query.from(Employee.class);
+        query.select(cb.construct(EmployeeDTO.class,
+                employee.get("id"), employee.get("firstName"), employee.get("lastName"), employee.get("email"),
+                employee.get("dateOfBirth"), employee.get("hireDate"), employee.get("phoneNumber"), employee.get("salary"),
+                employee.get("department").get("id"), cb.nullLiteral(String.class)));
+        Predicate predicate = specification.toPredicate(employee, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(withIdTieBreaker(pageable.getSort()), employee, cb));
+
+        TypedQuery<EmployeeDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Employee> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> employee = query.from(Employee.class);
+        query.select(cb.count(employee));
+        Predicate predicate = specification.toPredicate(employee, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+}
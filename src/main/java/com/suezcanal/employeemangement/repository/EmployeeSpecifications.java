@@ -0,0 +1,70 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Filters for employee search. Each factory returns null for a null argument, which {@link Specification}
+ * composition skips, so only the requested predicates reach the SQL. All of them compare columns of the
+ * employees table directly so every filter can use its index.
+ */
+public final class EmployeeSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> search(Long departmentId, Double salaryMin, Double salaryMax,
+                                                 LocalDate hiredFrom, LocalDate hiredTo, String lastNamePrefix) {
+        return Specification.allOf(
+                inDepartment(departmentId),
+                salaryAtLeast(salaryMin),
+                salaryAtMost(salaryMax),
+                hiredOnOrAfter(hiredFrom),
+                hiredOnOrBefore(hiredTo),
+                lastNameStartsWith(lastNamePrefix));
+    }
+
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return departmentId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    public static Specification<Employee> salaryAtLeast(Double salary) {
+        return salary == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("salary"), salary);
+    }
+
+    public static Specification<Employee> salaryAtMost(Double salary) {
+        return salary == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("salary"), salary);
+    }
+
+    public static Specification<Employee> hiredOnOrAfter(LocalDate date) {
+        return date == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("hireDate"), date);
+    }
+
+    public static Specification<Employee> hiredOnOrBefore(LocalDate date) {
+        return date == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("hireDate"), date);
+    }
+
+    public static Specification<Employee> lastNameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.trim()) + "%";
+        return (root, query, cb) -> cb.like(root.get("lastName"), pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
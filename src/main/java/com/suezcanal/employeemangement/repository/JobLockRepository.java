@@ -0,0 +1,33 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Takes over the lock if it has expired; returns 1 when this caller now holds it.
+     */
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :lockedUntil, l.lockedAt = :now, l.lockedBy = :owner " +
+            "where l.name = :name and l.lockedUntil <= :now")
+    int acquireExpired(String name, String owner, LocalDateTime now, LocalDateTime lockedUntil);
+
+    /**
+     * Creates the lock row, held by the caller; fails on the primary key when another instance created it first.
+     */
+    @Modifying
+    @Query("insert into JobLock (name, lockedUntil, lockedAt, lockedBy) values (:name, :lockedUntil, :now, :owner)")
+    int insert(String name, String owner, LocalDateTime now, LocalDateTime lockedUntil);
+
+    /**
+     * Moves the expiry of a lock the caller holds, to release or extend it; returns 0 when it no longer holds it.
+     */
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :lockedUntil where l.name = :name and l.lockedBy = :owner")
+    int updateLockedUntil(String name, String owner, LocalDateTime lockedUntil);
+}
@@ -0,0 +1,27 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.attempts < :maxAttempts and e.nextAttemptAt <= :now order by e.id")
+    List<OutboxEvent> findReady(int maxAttempts, LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt where e.id = :id")
+    int recordFailure(Long id, LocalDateTime nextAttemptAt);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.attempts < :maxAttempts")
+    LocalDateTime findOldestPendingCreatedAt(int maxAttempts);
+}
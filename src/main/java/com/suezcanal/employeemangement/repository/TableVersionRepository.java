@@ -0,0 +1,15 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.model.TableVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+
+public interface TableVersionRepository extends JpaRepository<TableVersion, String> {
+
+    @Modifying
+    @Query("update TableVersion t set t.version = t.version + 1 where t.name in :names")
+    int increment(Collection<String> names);
+}
@@ -0,0 +1,22 @@
+package com.suezcanal.employeemangement.scheduler;
+
+import com.suezcanal.employeemangement.configuration.ClusterLocked;
+import com.suezcanal.employeemangement.service.OutboxRelay;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+
+    private final OutboxRelay outboxRelay;
+
+    @Scheduled(fixedDelayString = "${outbox.relay-interval:PT0.5S}")
+    @ClusterLocked(name = OutboxRelay.LOCK_NAME, lockAtMostFor = "${outbox.lock-at-most-for:1m}")
+    @Timed(value = "app.outbox.relay", description = "Outbox relay run")
+    public void relay() {
+        outboxRelay.drain();
+    }
+}
@@ -1,11 +1,18 @@
 package com.suezcanal.employeemangement.scheduler;
 
+import com.suezcanal.employeemangement.configuration.ClusterLocked;
 import com.suezcanal.employeemangement.service.DepartmentSummaryService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -13,11 +20,33 @@ public class SummaryScheduler {
 
     private final DepartmentSummaryService departmentSummaryService;
 
+    @Value("${summaries.retention.daily:90d}")
+    private Duration dailyRetention;
+
+    @Value("${summaries.partition-size:500}")
+    private int partitionSize;
+
+    @Value("${summaries.parallelism:4}")
+    private int parallelism;
 
     @Scheduled(cron = "0 0 9 * * *") // Runs at 9:00 AM every day
+    @ClusterLocked(name = "daily-summary", lockAtMostFor = "${summaries.lock-at-most-for:30m}", lockAtLeastFor = "5m")
+    @Timed(value = "app.summary.job", description = "Daily department summary job")
     public void generateDailySummary() {
         log.info("Daily summary generation started at {}", System.currentTimeMillis());
-        departmentSummaryService.generateDailyDepartmentSummary();
-        log.info("Daily summary generation completed at {}", System.currentTimeMillis());
+        long start = System.nanoTime();
+        int rows = departmentSummaryService.generateDailyDepartmentSummary(partitionSize, parallelism);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Daily summary generation completed at {}: {} headcounts recorded in {} ms", System.currentTimeMillis(), rows, elapsedMillis);
+    }
+
+    @Scheduled(cron = "${summaries.retention.cron:0 30 3 * * *}")
+    @ClusterLocked(name = "summary-retention", lockAtMostFor = "${summaries.lock-at-most-for:30m}", lockAtLeastFor = "5m")
+    @Timed(value = "app.summary.retention", description = "Daily summary rollup job")
+    public void rollUpDailySummaries() {
+        long start = System.nanoTime();
+        int rows = departmentSummaryService.rollUpDailySummaries(LocalDate.now().minusDays(dailyRetention.toDays()));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Daily summary rollup completed: {} daily rows compacted in {} ms", rows, elapsedMillis);
     }
 }
@@ -0,0 +1,407 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.configuration.ChangeFeedProperties;
+import com.suezcanal.employeemangement.configuration.ClusterLocked;
+import com.suezcanal.employeemangement.dto.ChangeEvent;
+import com.suezcanal.employeemangement.exception.SubscriberLimitExceededException;
+import com.suezcanal.employeemangement.model.ChangeLogEntry;
+import com.suezcanal.employeemangement.repository.ChangeLogRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams the change log to SSE subscribers on this instance. One poller tails the log by id and appends each
+ * change to every subscriber's buffer without blocking; a subscriber with something to send gets a virtual
+ * thread that writes its buffer out and ends, so idle streams hold no thread at all and a slow client only ever
+ * holds up itself.
+ * <p>
+ * A buffer holds at most {@code changes.subscriber-buffer} events. When it is full, a change to an employee or
+ * department replaces the buffered change to the same one (the newest carries the full state); otherwise the
+ * buffer is discarded and the client is sent a {@code reset} event, after which it should reload what it shows.
+ * A client reconnecting with {@code Last-Event-ID} first gets the changes it missed, or a {@code reset} when they
+ * are no longer in the log or are more than {@code changes.max-replay}. Its delivery thread reads them from the log
+ * a buffer's worth at a time while live changes queue up behind them, so resuming adds no database work under
+ * the fan-out lock.
+ */
+@Service
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+@Slf4j
+public class ChangeFeed implements MeterBinder {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeFeedProperties properties;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Object fanOutLock = new Object();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private long lastSequence = -1;
+
+    public ChangeFeed(ChangeLogRepository changeLogRepository, ApplicationEventPublisher eventPublisher,
+                      ChangeFeedProperties properties) {
+        this.changeLogRepository = changeLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    /**
+     * Starts streaming from the end of the log: changes from before this instance started are only replayed on
+     * request. Runs before the in-memory views that follow the feed load from the database, so none of the changes
+     * they did not load can fall between the two.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        synchronized (fanOutLock) {
+            if (lastSequence < 0) {
+                lastSequence = changeLogRepository.findLastId();
+            }
+        }
+    }
+
+    /**
+     * Opens a stream of the changes after {@code lastEventId}, or of new changes only when it is null.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long lastEventId) {
+        Subscriber subscriber = register(lastEventId);
+        subscriber.requestHeartbeat();
+        scheduleDelivery(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Adds a subscriber that resumes after {@code lastEventId}. Whether the missed changes can still be replayed is
+     * checked before taking the fan-out lock; under it the subscriber only notes where its replay ends, and its
+     * delivery thread reads them from the log later.
+     */
+    Subscriber register(Long lastEventId) {
+        if (subscribers.size() >= properties.maxSubscribers()) {
+            throw new SubscriberLimitExceededException("Too many change stream subscribers, retry later");
+        }
+        SseEmitter emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, properties.subscriberBuffer());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        start();
+        boolean replayable = lastEventId == null || canReplay(lastEventId);
+        synchronized (fanOutLock) {
+            if (!replayable) {
+                subscriber.preloadReset();
+            } else if (lastEventId != null && lastEventId < lastSequence) {
+                // changes polled since canReplay are replayed too
+                subscriber.replay(lastEventId, lastSequence);
+            } else if (lastEventId != null) {
+                // the client saw changes this instance has not polled yet
+                subscriber.skipUpTo(lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        return subscriber;
+    }
+
+    private boolean canReplay(long lastEventId) {
+        long upTo;
+        synchronized (fanOutLock) {
+            upTo = lastSequence;
+        }
+        if (lastEventId >= upTo) {
+            return true;
+        }
+        Long firstRetained = changeLogRepository.findFirstId();
+        if (firstRetained == null || lastEventId < firstRetained - 1) {
+            return false;
+        }
+        return changeLogRepository.countBetween(lastEventId, upTo) <= properties.maxReplay();
+    }
+
+    @Scheduled(fixedDelayString = "${changes.poll-interval:PT0.25S}")
+    public void poll() {
+        List<ChangeLogEntry> entries;
+        do {
+            long after;
+            synchronized (fanOutLock) {
+                if (lastSequence < 0) {
+                    return;
+                }
+                after = lastSequence;
+            }
+            entries = changeLogRepository.findAfter(after, Limit.of(properties.pollBatchSize()));
+            List<ChangeEvent> published = new ArrayList<>(entries.size());
+            synchronized (fanOutLock) {
+                for (ChangeLogEntry entry : entries) {
+                    if (entry.getId() <= lastSequence) {
+                        continue;
+                    }
+                    ChangeEvent event = toEvent(entry);
+                    for (Subscriber subscriber : subscribers) {
+                        switch (subscriber.offer(event)) {
+                            case COALESCED -> coalesced.increment();
+                            case DROPPED -> dropped.increment();
+                            case QUEUED -> {
+                            }
+                        }
+                    }
+                    lastSequence = entry.getId();
+                    published.add(event);
+                }
+            }
+            subscribers.forEach(this::scheduleDelivery);
+            published.forEach(eventPublisher::publishEvent);
+        } while (entries.size() == properties.pollBatchSize());
+    }
+
+    /**
+     * Keeps idle streams from being closed by proxies, and notices clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${changes.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+            scheduleDelivery(subscriber);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${changes.prune-interval:PT1M}")
+    @ClusterLocked(name = "change-log-prune", lockAtMostFor = "5m")
+    @Transactional
+    public void prune() {
+        int removed = changeLogRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.retention()));
+        if (removed > 0) {
+            log.debug("Pruned {} change log entries older than {}", removed, properties.retention());
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void scheduleDelivery(Subscriber subscriber) {
+        if (subscriber.hasPending() && subscriber.delivering.compareAndSet(false, true)) {
+            deliveryExecutor.execute(() -> deliver(subscriber));
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        try {
+            List<SseEmitter.SseEventBuilder> batch;
+            while (!(batch = nextBatch(subscriber)).isEmpty()) {
+                for (SseEmitter.SseEventBuilder event : batch) {
+                    subscriber.emitter.send(event);
+                }
+                delivered.add(batch.size());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away or the stream already completed
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.delivering.set(false);
+        }
+        scheduleDelivery(subscriber);
+    }
+
+    /**
+     * The next events to write to {@code subscriber}: while it is catching up, the next buffer's worth of missed
+     * changes read from the log, otherwise what it has buffered.
+     */
+    List<SseEmitter.SseEventBuilder> nextBatch(Subscriber subscriber) {
+        long after = subscriber.replayCursor();
+        if (after < 0) {
+            return subscriber.takePending();
+        }
+        List<ChangeEvent> page = changeLogRepository.findBetween(after, subscriber.replayUpTo, Limit.of(subscriber.capacity))
+                .stream()
+                .map(ChangeFeed::toEvent)
+                .toList();
+        // checked after reading, so a prune racing the read resets the client rather than skipping changes
+        Long firstRetained = changeLogRepository.findFirstId();
+        if (firstRetained == null || after < firstRetained - 1) {
+            subscriber.preloadReset();
+            return subscriber.takePending();
+        }
+        return subscriber.takeReplayed(page);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        deliveryExecutor.shutdownNow();
+    }
+
+    private static ChangeEvent toEvent(ChangeLogEntry entry) {
+        return new ChangeEvent(entry.getId(), entry.getType(), entry.getAggregateId(), entry.getPayload(), entry.getCreatedAt());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.changes.subscribers", subscribers, Set::size)
+                .description("Open change streams on this instance")
+                .register(registry);
+        FunctionCounter.builder("app.changes.events", delivered, LongAdder::sum)
+                .description("Change stream events by outcome")
+                .tag("outcome", "delivered")
+                .register(registry);
+        FunctionCounter.builder("app.changes.events", coalesced, LongAdder::sum)
+                .description("Change stream events by outcome")
+                .tag("outcome", "coalesced")
+                .register(registry);
+        FunctionCounter.builder("app.changes.events", dropped, LongAdder::sum)
+                .description("Change stream events by outcome")
+                .tag("outcome", "dropped")
+                .register(registry);
+    }
+
+    enum Offer {QUEUED, COALESCED, DROPPED}
+
+    /**
+     * One open stream and the events waiting to be written to it.
+     */
+    static final class Subscriber {
+
+        final SseEmitter emitter;
+        final AtomicBoolean delivering = new AtomicBoolean();
+        private final int capacity;
+        private final ArrayDeque<ChangeEvent> pending = new ArrayDeque<>();
+        private boolean resetPending;
+        private boolean heartbeatPending;
+        private long skipUpTo = -1;
+        private long replayCursor = -1;
+        private long replayUpTo;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.capacity = capacity;
+        }
+
+        synchronized Offer offer(ChangeEvent event) {
+            if (event.sequence() <= skipUpTo) {
+                return Offer.QUEUED;
+            }
+            if (pending.size() < capacity) {
+                pending.addLast(event);
+                return Offer.QUEUED;
+            }
+            String key = coalesceKey(event);
+            if (key != null && pending.removeIf(queued -> key.equals(coalesceKey(queued)))) {
+                pending.addLast(event);
+                return Offer.COALESCED;
+            }
+            pending.clear();
+            pending.addLast(event);
+            resetPending = true;
+            replayCursor = -1;
+            return Offer.DROPPED;
+        }
+
+        /**
+         * Sends the changes after {@code after} up to {@code upTo} before any live change. They stay in the log and
+         * are read a buffer's worth at a time, so a catching-up client holds no more than a live one.
+         */
+        synchronized void replay(long after, long upTo) {
+            replayCursor = after;
+            replayUpTo = upTo;
+        }
+
+        /**
+         * Where the replay continues, or -1 when there is nothing left to replay.
+         */
+        synchronized long replayCursor() {
+            return replayCursor;
+        }
+
+        synchronized List<SseEmitter.SseEventBuilder> takeReplayed(List<ChangeEvent> page) {
+            if (replayCursor < 0) {
+                // reset while the page was read
+                return takePending();
+            }
+            replayCursor = page.size() < capacity || page.getLast().sequence() >= replayUpTo ? -1 : page.getLast().sequence();
+            if (page.isEmpty()) {
+                return takePending();
+            }
+            return page.stream().map(Subscriber::toSse).toList();
+        }
+
+        synchronized void skipUpTo(long sequence) {
+            skipUpTo = sequence;
+        }
+
+        synchronized void preloadReset() {
+            resetPending = true;
+            replayCursor = -1;
+        }
+
+        synchronized void requestHeartbeat() {
+            heartbeatPending = true;
+        }
+
+        synchronized boolean hasPending() {
+            return resetPending || heartbeatPending || replayCursor >= 0 || !pending.isEmpty();
+        }
+
+        synchronized List<SseEmitter.SseEventBuilder> takePending() {
+            List<SseEmitter.SseEventBuilder> events = new ArrayList<>(pending.size() + 1);
+            if (resetPending) {
+                events.add(SseEmitter.event().name(RESET_EVENT).data(Map.of("reason", "missed changes"), MediaType.APPLICATION_JSON));
+            } else if (heartbeatPending && pending.isEmpty()) {
+                events.add(SseEmitter.event().comment("keepalive"));
+            }
+            pending.forEach(event -> events.add(toSse(event)));
+            pending.clear();
+            resetPending = false;
+            heartbeatPending = false;
+            return events;
+        }
+
+        private static SseEmitter.SseEventBuilder toSse(ChangeEvent event) {
+            return SseEmitter.event()
+                    .id(Long.toString(event.sequence()))
+                    .name(CHANGE_EVENT)
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+
+        /**
+         * Changes that carry the whole state of one employee or department, so a newer one supersedes an older one.
+         */
+        static String coalesceKey(ChangeEvent event) {
+            return switch (event.type()) {
+                case EMPLOYEE_CREATED, EMPLOYEE_UPDATED, EMPLOYEE_DELETED -> "employee:" + event.aggregateId();
+                case DEPARTMENT_CREATED, DEPARTMENT_UPDATED, DEPARTMENT_DELETED -> "department:" + event.aggregateId();
+                default -> null;
+            };
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.model.ChangeLogEntry;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.ChangeLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Copies relayed employee and department changes into the change log that {@link ChangeFeed} streams from. Rows
+ * are stamped with the time they are relayed, so a backlogged relay does not write rows that retention already
+ * considers expired.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeLogWriter implements OutboxConsumer {
+
+    private final ChangeLogRepository changeLogRepository;
+
+    @Override
+    public void accept(List<OutboxEvent> events) {
+        LocalDateTime relayedAt = LocalDateTime.now();
+        List<ChangeLogEntry> entries = events.stream()
+                .filter(event -> event.getType() != OutboxEventType.HEADCOUNT_RECORDED)
+                .map(event -> new ChangeLogEntry(null, event.getType(), event.getAggregateId(), event.getPayload(), relayedAt))
+                .toList();
+        if (!entries.isEmpty()) {
+            changeLogRepository.saveAll(entries);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.suezcanal.employeemangement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.suezcanal.employeemangement.dto.DepartmentCacheStats;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Departments keyed by id and by lower-cased name. Entries are detached copies without the employees
+ * collection, so callers can use them as association targets but must not modify them.
+ */
+@Component
+public class DepartmentCache {
+
+    private static final String ALL = "all";
+    private static final String QUERY_REGION = "department-queries";
+
+    private final DepartmentRepository departmentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Cache<Long, Department> byId;
+    private final Cache<String, Department> byName;
+    private final Cache<String, List<Department>> all;
+    private volatile String generation;
+
+    public DepartmentCache(DepartmentRepository departmentRepository, EntityManagerFactory entityManagerFactory,
+                           @Value("${departments.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${departments.cache.ttl:10m}") Duration ttl) {
+        this.departmentRepository = departmentRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.byId = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.byName = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.all = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public Optional<Department> findById(Long id) {
+        return Optional.ofNullable(byId.get(id, key -> departmentRepository.findById(key)
+                .map(DepartmentCache::copyOf)
+                .map(department -> {
+                    byName.put(department.getName().toLowerCase(), department);
+                    return department;
+                })
+                .orElse(null)));
+    }
+
+    public Optional<Department> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byName.get(name.toLowerCase(), key -> departmentRepository.findByNameIgnoreCase(name)
+                .map(DepartmentCache::copyOf)
+                .map(department -> {
+                    byId.put(department.getId(), department);
+                    return department;
+                })
+                .orElse(null)));
+    }
+
+    public List<Department> findAll() {
+        return all.get(ALL, key -> departmentRepository.findAll().stream()
+                .map(DepartmentCache::copyOf)
+                .peek(department -> {
+                    byId.put(department.getId(), department);
+                    byName.put(department.getName().toLowerCase(), department);
+                })
+                .sorted(Comparator.comparing(Department::getId))
+                .toList());
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byName.invalidateAll();
+        all.invalidateAll();
+    }
+
+    /**
+     * Clears the cache when {@code generation} differs from the one last passed in, so departments written by
+     * another instance are reloaded once its change reaches the shared database. The Hibernate second-level cache
+     * is per instance too and would answer the reload with the old rows, so its department regions go as well.
+     */
+    public void invalidateOnNewGeneration(String generation) {
+        if (!generation.equals(this.generation)) {
+            org.hibernate.Cache secondLevelCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+            secondLevelCache.evictEntityData(Department.class);
+            secondLevelCache.evictQueryRegion(QUERY_REGION);
+            invalidateAll();
+            this.generation = generation;
+        }
+    }
+
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateAll();
+            }
+        });
+    }
+
+    public DepartmentCacheStats stats() {
+        CacheStats stats = Stream.of(byId, byName, all)
+                .map(Cache::stats)
+                .reduce(CacheStats.empty(), CacheStats::plus);
+        return new DepartmentCacheStats(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+                byId.estimatedSize() + byName.estimatedSize());
+    }
+
+    private static Department copyOf(Department department) {
+        return new Department(department.getId(), department.getName(), null, department.getVersion());
+    }
+}
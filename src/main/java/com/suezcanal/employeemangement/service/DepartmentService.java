@@ -1,8 +1,13 @@
 package com.suezcanal.employeemangement.service;
 
+import com.suezcanal.employeemangement.dto.DepartmentCacheStats;
 import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.exception.PreconditionFailedException;
+import com.suezcanal.employeemangement.mapper.DepartmentMapper;
 import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.OutboxEventType;
 import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,24 +16,44 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 @Slf4j
 public class DepartmentService {
     private final DepartmentRepository departmentRepository;
+    private final DepartmentCache departmentCache;
+    private final DepartmentMapper departmentMapper;
+    private final TableChangeCounter tableChangeCounter;
+    private final OutboxService outboxService;
 
-    @Transactional(readOnly = true)
     public List<DepartmentDTO> getAllDepartments() {
-        return departmentRepository.findAll().stream().sorted(Department::compareTo).map(this::toDTO).toList();
+        return departmentCache.findAll().stream().map(departmentMapper::toDTO).toList();
     }
 
+    /**
+     * ETag of the department list. The list is served from the in-process cache, which is cleared whenever the
+     * tag has moved since it was last read here, so a tag never describes departments cached before it.
+     */
+    public String getDepartmentsETag() {
+        String etag = tableChangeCounter.etag(TableChangeCounter.Table.DEPARTMENTS);
+        departmentCache.invalidateOnNewGeneration(etag);
+        return etag;
+    }
 
+    /**
+     * ETag of one department: its version, read from the in-process cache once the cache has been checked against
+     * the DEPARTMENTS counter, so a rename on another instance is never answered with this instance's old version.
+     */
+    public String getDepartmentETag(Long id) {
+        return findCurrent(id).map(department -> ETags.of(department.getVersion()))
+                .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + id));
+    }
 
-
-    @Transactional(readOnly = true)
     public DepartmentDTO getDepartmentById(Long id) {
-        return departmentRepository.findById(id).map(this::toDTO)
+        return findCurrent(id).map(departmentMapper::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + id));
     }
 
@@ -38,29 +63,33 @@ public class DepartmentService {
             throw new DataIntegrityViolationException("Department name already exists: " + department.getName());
         }
         departmentRepository.save(department);
+        outboxService.record(OutboxEventType.DEPARTMENT_CREATED, department.getId(), departmentMapper.toDTO(department));
+        departmentCache.invalidateAfterCommit();
+        tableChangeCounter.increment(TableChangeCounter.Table.DEPARTMENTS);
     }
 
     @Transactional
-    public Department updateDepartment(long id,DepartmentDTO departmentDto) {
+    public Department updateDepartment(long id, DepartmentDTO departmentDto, String ifMatch) {
         Department department = departmentRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + id));
+        if (!ETags.ifMatch(ifMatch, ETags.of(department.getVersion()))) {
+            throw new PreconditionFailedException("Department " + id + " has been modified");
+        }
         if(departmentRepository.findByName(departmentDto.getName()).isPresent()) {
             throw new DataIntegrityViolationException("Department name already exists: " + department.getName());
         }
         department.setName(departmentDto.getName());
-        return departmentRepository.save(department);
-    }
-
-    private DepartmentDTO toDTO(Department department) {
-        DepartmentDTO dto = new DepartmentDTO();
-        dto.setId(department.getId());
-        dto.setName(department.getName());
-        return dto;
+        department = departmentRepository.save(department);
+        outboxService.record(OutboxEventType.DEPARTMENT_UPDATED, id, departmentMapper.toDTO(department));
+        departmentCache.invalidateAfterCommit();
+        tableChangeCounter.increment(TableChangeCounter.Table.DEPARTMENTS);
+        return department;
     }
 
     public Department checkDepartmentExists(Long id) {
         return departmentRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + id));
     }
 
+    @Transactional
     public void deleteDepartment(Long id) {
         Department department = checkDepartmentExists(id);
         if (!department.getEmployees().isEmpty()) {
@@ -68,5 +97,17 @@ public class DepartmentService {
         }
 
         departmentRepository.delete(department);
+        outboxService.record(OutboxEventType.DEPARTMENT_DELETED, id, departmentMapper.toDTO(department));
+        departmentCache.invalidateAfterCommit();
+        tableChangeCounter.increment(TableChangeCounter.Table.DEPARTMENTS);
+    }
+
+    public DepartmentCacheStats getCacheStats() {
+        return departmentCache.stats();
+    }
+
+    private Optional<Department> findCurrent(Long id) {
+        departmentCache.invalidateOnNewGeneration(tableChangeCounter.etag(TableChangeCounter.Table.DEPARTMENTS));
+        return departmentCache.findById(id);
     }
 }
@@ -1,46 +1,201 @@
 package com.suezcanal.employeemangement.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suezcanal.employeemangement.dto.DepartmentHeadcount;
+import com.suezcanal.employeemangement.dto.HeadcountBucket;
+import com.suezcanal.employeemangement.dto.HeadcountPoint;
+import com.suezcanal.employeemangement.dto.HeadcountSnapshot;
+import com.suezcanal.employeemangement.exception.BadRequestException;
 import com.suezcanal.employeemangement.model.DailySummary;
 import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.model.SummaryResolution;
 import com.suezcanal.employeemangement.repository.DailySummaryRepository;
 import com.suezcanal.employeemangement.repository.DepartmentRepository;
-import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 @Slf4j
-public class DepartmentSummaryService {
+public class DepartmentSummaryService implements OutboxConsumer {
 
     private final DepartmentRepository departmentRepository;
-    private final EmployeeRepository employeeRepository;
     private final DailySummaryRepository dailySummaryRepository;
+    private final DepartmentCache departmentCache;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
-    public void generateDailyDepartmentSummary() {
+    /**
+     * Records the current headcount of every department in the outbox, one event per partition; the relay hands
+     * the snapshots back to {@link #accept(List)}, which writes them to the summary table in its batches.
+     * Departments are split by id into partitions of {@code partitionSize}, each counted and recorded in its own
+     * transaction; several partitions run in parallel on at most {@code parallelism} threads. All snapshots of a
+     * run share one timestamp. A failing partition fails the run once the others have finished; partitions
+     * already committed keep their snapshots. Returns the number of snapshots recorded.
+     */
+    public int generateDailyDepartmentSummary(int partitionSize, int parallelism) {
+        if (partitionSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Partition size and parallelism must be at least 1");
+        }
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<Long> departmentIds = departmentCache.findAll().stream().map(Department::getId).sorted().toList();
+        List<List<Long>> partitions = new ArrayList<>();
+        for (int from = 0; from < departmentIds.size(); from += partitionSize) {
+            partitions.add(departmentIds.subList(from, Math.min(from + partitionSize, departmentIds.size())));
+        }
+        if (partitions.size() <= 1 || parallelism == 1) {
+            return partitions.stream().mapToInt(partition -> recordPartition(partition, timestamp)).sum();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, partitions.size()));
+        try {
+            List<Future<Integer>> futures = partitions.stream()
+                    .map(partition -> executor.submit(() -> recordPartition(partition, timestamp)))
+                    .toList();
+            int recorded = 0;
+            RuntimeException failure = null;
+            for (Future<Integer> future : futures) {
+                try {
+                    recorded += future.get();
+                } catch (ExecutionException e) {
+                    failure = failure != null ? failure : new IllegalStateException("Summary partition failed", e.getCause());
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return recorded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating the daily summary", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        departmentRepository.findAll().forEach(department -> {
-            int employeeCount = employeeRepository.countByDepartment(department);
-            logDepartmentSummary(department, employeeCount);
-            saveDailySummary(department, employeeCount);
+    private int recordPartition(List<Long> departmentIds, LocalDateTime timestamp) {
+        Integer recorded = transactionTemplate.execute(status -> {
+            List<DepartmentHeadcount> headcounts = departmentRepository.countEmployeesPerDepartmentBetween(
+                    departmentIds.getFirst(), departmentIds.getLast());
+            headcounts.forEach(this::logDepartmentSummary);
+            if (!headcounts.isEmpty()) {
+                // one outbox row per partition, not per department
+                outboxService.record(OutboxEventType.HEADCOUNT_RECORDED, null, headcounts.stream()
+                        .map(headcount -> new HeadcountSnapshot(headcount.departmentId(), headcount.employeeCount(), timestamp))
+                        .toList());
+            }
+            return headcounts.size();
         });
-        
+        return recorded != null ? recorded : 0;
+    }
+
+    /**
+     * Writes the snapshots of all HEADCOUNT_RECORDED events in one batch. Snapshots of departments deleted since
+     * they were taken are skipped: their foreign key would fail the whole batch, and redelivery would then fail and
+     * eventually dead-letter every other snapshot of the same partition event with it.
+     */
+    @Override
+    public void accept(List<OutboxEvent> events) {
+        List<HeadcountSnapshot> snapshots = events.stream()
+                .filter(event -> event.getType() == OutboxEventType.HEADCOUNT_RECORDED)
+                .flatMap(event -> readSnapshots(event).stream())
+                .toList();
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        Set<Long> departmentIds = departmentRepository.findExistingIds(
+                snapshots.stream().map(HeadcountSnapshot::departmentId).distinct().toList());
+        List<DailySummary> summaries = new ArrayList<>();
+        for (HeadcountSnapshot snapshot : snapshots) {
+            if (departmentIds.contains(snapshot.departmentId())) {
+                summaries.add(toDailySummary(snapshot));
+            } else {
+                log.warn("Skipping headcount snapshot of deleted department {} taken at {}", snapshot.departmentId(),
+                        snapshot.timestamp());
+            }
+        }
+        if (!summaries.isEmpty()) {
+            dailySummaryRepository.saveAll(summaries);
+        }
+    }
+
+    /**
+     * Headcount of a department per bucket for the days {@code from} to {@code to}, both inclusive. Defaults to the
+     * year up to today.
+     */
+    @Transactional(readOnly = true)
+    public List<HeadcountPoint> getHeadcountHistory(Long departmentId, LocalDate from, LocalDate to, HeadcountBucket bucket) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (departmentCache.findById(departmentId).isEmpty()) {
+            throw new EntityNotFoundException("Department not found with id: " + departmentId);
+        }
+        return dailySummaryRepository.findHeadcountHistory(departmentId, start.atStartOfDay(), end.plusDays(1).atStartOfDay(), bucket);
+    }
+
+    /**
+     * Replaces the daily rows of every month that ended before {@code keepDailyFrom} with one monthly row per
+     * department; the month containing {@code keepDailyFrom} keeps its daily rows. Returns the number of daily rows
+     * removed.
+     */
+    @Transactional
+    public int rollUpDailySummaries(LocalDate keepDailyFrom) {
+        LocalDateTime before = keepDailyFrom.withDayOfMonth(1).atStartOfDay();
+        int monthly = dailySummaryRepository.insertMonthlyRollups(before);
+        int removed = dailySummaryRepository.deleteByResolutionBefore(SummaryResolution.DAY, before);
+        log.info("Rolled {} daily summaries before {} up into {} monthly rows", removed, before.toLocalDate(), monthly);
+        return removed;
+    }
+
+    private void logDepartmentSummary(DepartmentHeadcount headcount) {
+        log.info("Department: {} - Total Employees: {}", headcount.departmentName(), headcount.employeeCount());
     }
 
-    private void logDepartmentSummary(Department department, int count) {
-        log.info("Department: {} - Total Employees: {}", department.getName(), count);
+    private List<HeadcountSnapshot> readSnapshots(OutboxEvent event) {
+        try {
+            // events recorded before snapshots were grouped per partition hold a single snapshot
+            return objectMapper.readerForListOf(HeadcountSnapshot.class)
+                    .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                    .readValue(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed headcount snapshot in outbox event " + event.getId(), e);
+        }
     }
 
-    private void saveDailySummary(Department department, int count) {
+    private DailySummary toDailySummary(HeadcountSnapshot snapshot) {
         DailySummary summary = new DailySummary();
-        summary.setDepartment(department);
-        summary.setEmployeeCount(count);
-        summary.setTimestamp(LocalDateTime.now());
-        dailySummaryRepository.save(summary);
+        summary.setDepartment(departmentRepository.getReferenceById(snapshot.departmentId()));
+        int employeeCount = Math.toIntExact(snapshot.employeeCount());
+        summary.setEmployeeCount(employeeCount);
+        summary.setMinEmployeeCount(employeeCount);
+        summary.setMaxEmployeeCount(employeeCount);
+        summary.setSamples(1);
+        summary.setEmployeeDays((long) employeeCount);
+        summary.setResolution(SummaryResolution.DAY);
+        summary.setTimestamp(snapshot.timestamp());
+        return summary;
     }
 }
@@ -0,0 +1,38 @@
+package com.suezcanal.employeemangement.service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * ETags built from entity versions, and the {@code If-Match} check against them.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long... versions) {
+        return Arrays.stream(versions).map(String::valueOf).collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    /**
+     * {@code *} matches any current representation and a missing header matches so that unconditional writes keep
+     * working. GETs hand the tags out in weak form, one per format and encoding, so a {@code W/} prefix is ignored:
+     * the opaque tag is the entity version either way.
+     */
+    static boolean ifMatch(String header, String current) {
+        if (header == null || header.isBlank()) {
+            return true;
+        }
+        for (String candidate : header.split(",")) {
+            String etag = candidate.trim();
+            if (etag.startsWith("W/")) {
+                etag = etag.substring(2);
+            }
+            if (etag.equals("*") || etag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
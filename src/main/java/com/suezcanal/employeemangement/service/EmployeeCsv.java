@@ -0,0 +1,129 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class EmployeeCsv {
+
+    static final List<String> COLUMNS = List.of(
+            "firstName", "lastName", "email", "dateOfBirth", "hireDate", "phoneNumber", "salary", "department");
+
+    private final Map<String, Integer> columnIndex;
+
+    private EmployeeCsv(Map<String, Integer> columnIndex) {
+        this.columnIndex = columnIndex;
+    }
+
+    static EmployeeCsv fromHeader(String headerLine) {
+        List<String> header = parseLine(headerLine);
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columnIndex.put(header.get(i).trim().toLowerCase(), i);
+        }
+        List<String> missing = COLUMNS.stream()
+                .filter(column -> !columnIndex.containsKey(column.toLowerCase()))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("CSV header is missing columns: " + missing);
+        }
+        return new EmployeeCsv(columnIndex);
+    }
+
+    EmployeeDTO toDTO(String line) {
+        List<String> fields = parseLine(line);
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setFirstName(field(fields, "firstName"));
+        dto.setLastName(field(fields, "lastName"));
+        dto.setEmail(field(fields, "email"));
+        String dateOfBirth = field(fields, "dateOfBirth");
+        dto.setDateOfBirth(dateOfBirth == null ? null : LocalDate.parse(dateOfBirth));
+        String hireDate = field(fields, "hireDate");
+        dto.setHireDate(hireDate == null ? null : LocalDate.parse(hireDate));
+        dto.setPhoneNumber(field(fields, "phoneNumber"));
+        String salary = field(fields, "salary");
+        dto.setSalary(salary == null ? null : Double.valueOf(salary));
+        String department = field(fields, "department");
+        if (department != null) {
+            DepartmentDTO departmentDTO = new DepartmentDTO();
+            departmentDTO.setName(department);
+            dto.setDepartment(departmentDTO);
+        }
+        return dto;
+    }
+
+    private String field(List<String> fields, String column) {
+        int index = columnIndex.get(column.toLowerCase());
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static String header() {
+        return "id," + String.join(",", COLUMNS);
+    }
+
+    static String format(EmployeeDTO dto) {
+        StringBuilder line = new StringBuilder(128);
+        appendField(line, dto.getId()).append(',');
+        appendField(line, dto.getFirstName()).append(',');
+        appendField(line, dto.getLastName()).append(',');
+        appendField(line, dto.getEmail()).append(',');
+        appendField(line, dto.getDateOfBirth()).append(',');
+        appendField(line, dto.getHireDate()).append(',');
+        appendField(line, dto.getPhoneNumber()).append(',');
+        appendField(line, dto.getSalary()).append(',');
+        appendField(line, dto.getDepartment() == null ? null : dto.getDepartment().getName());
+        return line.toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
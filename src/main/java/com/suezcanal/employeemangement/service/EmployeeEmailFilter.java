@@ -0,0 +1,132 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter over employee emails that lets the write path skip the duplicate-email query for emails
+ * that are certainly new. A positive answer is confirmed against the unique index, which stays the exact set and
+ * the final word: an email this filter misses (inserted by another instance, or while a rebuild was streaming)
+ * only means the duplicate is reported by the constraint on insert instead of by the query.
+ * <p>
+ * The filter is loaded once the application is ready and answers "maybe" until then. Emails of deleted employees
+ * cannot be removed and stay false positives; the filter is rebuilt from the table, at twice the row count, once
+ * more emails were added than it was sized for.
+ */
+@Component
+@Slf4j
+public class EmployeeEmailFilter implements MeterBinder {
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minimumCapacity;
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder positives = new LongAdder();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter loading;
+
+    public EmployeeEmailFilter(EmployeeRepository employeeRepository,
+                               @Value("${employees.email-filter.enabled:true}") boolean enabled,
+                               @Value("${employees.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${employees.email-filter.minimum-capacity:100000}") long minimumCapacity) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        BloomFilter next = new BloomFilter(Math.max(minimumCapacity, 2 * employeeRepository.count()), falsePositiveRate);
+        // Emails added while the table is streamed go into the new filter as well
+        loading = next;
+        try (Stream<String> emails = employeeRepository.streamEmails()) {
+            emails.forEach(next::add);
+        }
+        filter = next;
+        loading = null;
+        log.info("Loaded email filter with {} emails ({} bytes) in {} ms", next.insertions(), next.sizeInBytes(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Scheduled(fixedDelayString = "${employees.email-filter.check-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void rebuildIfSaturated() {
+        BloomFilter current = filter;
+        if (current != null && current.insertions() > current.capacity()) {
+            load();
+        }
+    }
+
+    /**
+     * {@code false} if no employee has this email; {@code true} if one may have it, and the caller has to ask
+     * the database.
+     */
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        boolean maybe = current.mightContain(email);
+        (maybe ? positives : negatives).increment();
+        return maybe;
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        BloomFilter next = loading;
+        if (current != null) {
+            current.add(email);
+        }
+        if (next != null) {
+            next.add(email);
+        }
+    }
+
+    public void addAll(Collection<String> emails) {
+        emails.forEach(this::add);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("app.email.filter.lookups", negatives, LongAdder::sum)
+                .description("Email filter lookups answered without a query")
+                .tag("result", "negative")
+                .register(registry);
+        FunctionCounter.builder("app.email.filter.lookups", positives, LongAdder::sum)
+                .description("Email filter lookups that needed a query")
+                .tag("result", "positive")
+                .register(registry);
+        Gauge.builder("app.email.filter.emails", this, emailFilter -> emailFilter.filter == null ? 0 : emailFilter.filter.insertions())
+                .description("Emails added to the email filter since it was built")
+                .register(registry);
+        Gauge.builder("app.email.filter.false.positive.rate", this, emailFilter -> emailFilter.filter == null ? 1 : emailFilter.filter.expectedFalsePositiveRate())
+                .description("Expected false-positive rate of the email filter at its current fill")
+                .register(registry);
+        Gauge.builder("app.email.filter.memory", this, emailFilter -> emailFilter.filter == null ? 0 : emailFilter.filter.sizeInBytes())
+                .description("Size of the email filter bit array")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
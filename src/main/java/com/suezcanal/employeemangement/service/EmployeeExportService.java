@@ -0,0 +1,71 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDataFormat;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed("app.service")
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeExportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportEmployees(OutputStream output, EmployeeDataFormat format) throws IOException {
+        long rows;
+        try (Stream<EmployeeDTO> employees = employeeRepository.streamAllDtos()) {
+            rows = format == EmployeeDataFormat.CSV
+                    ? writeCsv(employees.iterator(), output)
+                    : writeNdjson(employees.iterator(), output);
+        }
+        log.info("Exported {} employees as {}", rows, format);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<EmployeeDTO> employees, OutputStream output) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(EmployeeDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // rows are separated by the newline below, not by Jackson's default space between root values
+            generator.setRootValueSeparator(null);
+            while (employees.hasNext()) {
+                writer.writeValue(generator, employees.next());
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<EmployeeDTO> employees, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(EmployeeCsv.header());
+        writer.write('\n');
+        long rows = 0;
+        while (employees.hasNext()) {
+            writer.write(EmployeeCsv.format(employees.next()));
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+}
@@ -0,0 +1,197 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suezcanal.employeemangement.dto.BulkImportResult;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDataFormat;
+import com.suezcanal.employeemangement.exception.BadRequestException;
+import com.suezcanal.employeemangement.mapper.EmployeeMapper;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.Employee;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("app.service")
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentCache departmentCache;
+    private final EmployeeMapper employeeMapper;
+    private final EmployeeSuggestionIndex suggestionIndex;
+    private final SalaryStatsService salaryStatsService;
+    private final TableChangeCounter tableChangeCounter;
+    private final EmployeeEmailFilter emailFilter;
+    private final OutboxService outboxService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public BulkImportResult importEmployees(InputStream input, EmployeeDataFormat format) throws IOException {
+        Map<String, Department> departments = departmentCache.findAll().stream()
+                .collect(Collectors.toMap(department -> department.getName().toLowerCase(), Function.identity()));
+        ImportProgress progress = new ImportProgress();
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        EmployeeCsv csv = null;
+        if (format == EmployeeDataFormat.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                throw new BadRequestException("CSV body is empty");
+            }
+            csv = EmployeeCsv.fromHeader(header);
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.received++;
+            try {
+                EmployeeDTO dto = csv != null ? csv.toDTO(line) : objectMapper.readValue(line, EmployeeDTO.class);
+                chunk.add(new ImportRow(lineNumber, dto));
+            } catch (JsonProcessingException e) {
+                progress.fail(lineNumber, null, "Malformed row: " + e.getOriginalMessage());
+            } catch (DateTimeParseException | BadRequestException | IllegalArgumentException e) {
+                progress.fail(lineNumber, null, "Malformed row: " + e.getMessage());
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, departments, seenEmails, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, departments, seenEmails, progress);
+        }
+        log.info("Bulk import finished: {} received, {} imported, {} failed", progress.received, progress.imported, progress.failed);
+        return progress.toResult();
+    }
+
+    private void importChunk(List<ImportRow> rows, Map<String, Department> departments, Set<String> seenEmails, ImportProgress progress) {
+        // exact lookup, not the email filter: that only knows this instance's writes, and a duplicate it misses
+        // would make the database reject the whole chunk instead of the one row
+        Set<String> candidateEmails = rows.stream()
+                .map(row -> row.dto().getEmail())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existingEmails = candidateEmails.isEmpty() ? Set.of() : employeeRepository.findExistingEmails(candidateEmails);
+
+        // joins seenEmails only once the chunk commits, so rows after a rejected chunk are not reported as duplicates
+        Set<String> chunkEmails = new HashSet<>();
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            EmployeeDTO dto = row.dto();
+            String error = validate(dto, departments, existingEmails, seenEmails, chunkEmails);
+            if (error != null) {
+                progress.fail(row.line(), dto.getEmail(), error);
+                continue;
+            }
+            chunkEmails.add(dto.getEmail());
+            Employee employee = employeeMapper.toEntity(dto);
+            employee.setDepartment(departments.get(dto.getDepartment().getName().toLowerCase()));
+            accepted.add(row);
+            employees.add(employee);
+        }
+        if (employees.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                employeeRepository.saveAll(employees);
+                outboxService.record(OutboxEventType.EMPLOYEES_IMPORTED, null,
+                        Map.of("ids", employees.stream().map(Employee::getId).toList()));
+                entityManager.flush();
+                entityManager.clear();
+            });
+            progress.imported += employees.size();
+            seenEmails.addAll(chunkEmails);
+            emailFilter.addAll(employees.stream().map(Employee::getEmail).toList());
+            suggestionIndex.putAll(employees.stream().map(EmployeeService::toSuggestion).toList());
+            salaryStatsService.invalidate(employees.stream().map(employee -> employee.getDepartment().getId()).collect(Collectors.toSet()));
+            tableChangeCounter.increment(TableChangeCounter.Table.EMPLOYEES);
+        } catch (DataAccessException e) {
+            String message = "Chunk rejected by database: " + e.getMostSpecificCause().getMessage();
+            accepted.forEach(row -> progress.fail(row.line(), row.dto().getEmail(), message));
+        }
+    }
+
+    private String validate(EmployeeDTO dto, Map<String, Department> departments, Set<String> existingEmails,
+                            Set<String> seenEmails, Set<String> chunkEmails) {
+        Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (dto.getDateOfBirth() == null) {
+            return "dateOfBirth: Date of birth is required";
+        }
+        if (dto.getDepartment().getName() == null || !departments.containsKey(dto.getDepartment().getName().toLowerCase())) {
+            return "Department not found with name: " + dto.getDepartment().getName();
+        }
+        if (existingEmails.contains(dto.getEmail())) {
+            return "Email already exists: " + dto.getEmail();
+        }
+        if (seenEmails.contains(dto.getEmail()) || chunkEmails.contains(dto.getEmail())) {
+            return "Duplicate email in import: " + dto.getEmail();
+        }
+        return null;
+    }
+
+    private record ImportRow(long line, EmployeeDTO dto) {
+    }
+
+    private static final class ImportProgress {
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<BulkImportResult.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkImportResult.RowError(line, email, message));
+            }
+        }
+
+        BulkImportResult toResult() {
+            errors.sort(Comparator.comparingLong(BulkImportResult.RowError::line));
+            return new BulkImportResult(received, imported, failed, errors);
+        }
+    }
+}
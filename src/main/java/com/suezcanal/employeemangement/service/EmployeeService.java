@@ -1,95 +1,276 @@
 package com.suezcanal.employeemangement.service;
 
+import com.suezcanal.employeemangement.configuration.RetryOnConflict;
+import com.suezcanal.employeemangement.dto.BulkUpdateResult;
+import com.suezcanal.employeemangement.dto.CursorPage;
+import com.suezcanal.employeemangement.dto.DepartmentTransferRequest;
 import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeSearchCriteria;
+import com.suezcanal.employeemangement.dto.EmployeeSuggestion;
+import com.suezcanal.employeemangement.dto.SalaryAdjustmentRequest;
+import com.suezcanal.employeemangement.exception.BadRequestException;
+import com.suezcanal.employeemangement.exception.PreconditionFailedException;
+import com.suezcanal.employeemangement.mapper.EmployeeMapper;
 import com.suezcanal.employeemangement.model.Employee;
 import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.OutboxEventType;
 import com.suezcanal.employeemangement.repository.EmployeeRepository;
-import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import com.suezcanal.employeemangement.repository.EmployeeSpecifications;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.suezcanal.employeemangement.dto.DepartmentDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final EmployeeRepository employeeRepository;
-    private final DepartmentRepository departmentRepository;
+    private final DepartmentCache departmentCache;
+    private final EmployeeMapper employeeMapper;
+    private final EmployeeSuggestionIndex suggestionIndex;
+    private final SalaryStatsService salaryStatsService;
+    private final TableChangeCounter tableChangeCounter;
+    private final EmployeeEmailFilter emailFilter;
+    private final OutboxService outboxService;
 
     @Transactional(readOnly = true)
     public Page<EmployeeDTO> getAllEmployees(Pageable pageable) {
-        return employeeRepository.findAll(pageable)
-                .map(this::convertToDTO);
+        return employeeRepository.findAllDtos(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeDTO> getEmployeesAfter(String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        List<EmployeeDTO> employees = employeeRepository.findDtosAfter(KeysetCursor.decode(cursor), Limit.of(size + 1));
+        boolean hasNext = employees.size() > size;
+        List<EmployeeDTO> content = hasNext ? employees.subList(0, size) : employees;
+        String nextCursor = hasNext ? KeysetCursor.encode(content.getLast().getId()) : null;
+        return new CursorPage<>(content, size, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<EmployeeDTO> searchEmployees(EmployeeSearchCriteria criteria, Pageable pageable) {
+        Specification<Employee> specification = toSpecification(criteria);
+        if (specification == null) {
+            return Page.empty(pageable);
+        }
+        Page<EmployeeDTO> page = employeeRepository.searchDtos(specification, pageable);
+        page.forEach(employee -> departmentCache.findById(employee.getDepartment().getId())
+                .ifPresent(department -> employee.getDepartment().setName(department.getName())));
+        return page;
+    }
+
+    public List<EmployeeSuggestion> suggestEmployees(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return suggestionIndex.suggest(query.trim(), limit);
+    }
+
+    /**
+     * ETag of the employee list reads; rows embed department names, so department writes move it too.
+     */
+    public String getEmployeesETag() {
+        return tableChangeCounter.etag(TableChangeCounter.Table.EMPLOYEES, TableChangeCounter.Table.DEPARTMENTS);
+    }
+
+    /**
+     * ETag of one employee from its version and its department's version, read with one lookup by primary key
+     * and no entity loading.
+     */
+    @Transactional(readOnly = true)
+    public String getEmployeeETag(Long id) {
+        return employeeRepository.findVersionById(id)
+                .map(version -> ETags.of(version.version(), version.departmentVersion()))
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
     }
 
     @Transactional(readOnly = true)
     public EmployeeDTO getEmployeeById(Long id) {
-        return employeeRepository.findById(id)
-                .map(this::convertToDTO)
+        return employeeRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
     }
 
+    /**
+     * Creates an employee. The duplicate-email query only runs when {@link EmployeeEmailFilter} cannot rule the
+     * email out; the unique constraint catches what the check misses, including concurrent creates.
+     */
     @Transactional
     public EmployeeDTO createEmployee(EmployeeDTO employeeDTO) {
-        if (employeeRepository.existsByEmail(employeeDTO.getEmail())) {
-            throw new DataIntegrityViolationException("Email already exists: " + employeeDTO.getEmail());
+        String email = employeeDTO.getEmail();
+        if (emailFilter.mightContain(email) && employeeRepository.existsByEmail(email)) {
+            throw new DataIntegrityViolationException("Email already exists: " + email);
         }
-        Department department = departmentRepository.findByName(employeeDTO.getDepartment().getName()).orElseThrow(() -> new EntityNotFoundException("Department not found with name: " + employeeDTO.getDepartment().getName()));
-        Employee employee = convertToNewEntity(employeeDTO);
+        Department department = departmentCache.findByName(employeeDTO.getDepartment().getName()).orElseThrow(() -> new EntityNotFoundException("Department not found with name: " + employeeDTO.getDepartment().getName()));
+        Employee employee = employeeMapper.toEntity(employeeDTO);
         employee.setDepartment(department);
-        employee = employeeRepository.save(employee);
-        return convertToDTO(employee);
+        try {
+            employee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConstraintViolation(e)) {
+                throw new DataIntegrityViolationException("Email already exists: " + email, e);
+            }
+            throw e;
+        }
+        EmployeeDTO created = employeeMapper.toDTO(employee);
+        outboxService.record(OutboxEventType.EMPLOYEE_CREATED, employee.getId(), created);
+        emailFilter.add(email);
+        suggestionIndex.putAfterCommit(toSuggestion(employee));
+        salaryStatsService.invalidateAfterCommit(department.getId());
+        tableChangeCounter.increment(TableChangeCounter.Table.EMPLOYEES);
+        return created;
     }
 
+    /**
+     * Replaces an employee. {@code ifMatch}, when given, must hold the employee's current ETag; the version
+     * check at flush then also rejects a write that committed after this one read the row. Such a conflict is not
+     * retried: with If-Match the repeat could only fail the precondition, and without it the repeat would
+     * overwrite the other write.
+     */
     @Transactional
-    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, String ifMatch) {
         Employee existingEmployee = employeeRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
-        if (!employeeRepository.existsByEmail(employeeDTO.getEmail()) || !existingEmployee.getEmail().equals(employeeDTO.getEmail())) {
+        if (!ETags.ifMatch(ifMatch, ETags.of(existingEmployee.getVersion(), existingEmployee.getDepartment().getVersion()))) {
+            throw new PreconditionFailedException("Employee " + id + " has been modified");
+        }
+        if (!existingEmployee.getEmail().equals(employeeDTO.getEmail())) {
             throw new DataIntegrityViolationException("Email can't be updated: " + employeeDTO.getEmail());
         }
-        Department department = departmentRepository.findByName(employeeDTO.getDepartment().getName())
+        Department department = departmentCache.findByName(employeeDTO.getDepartment().getName())
                 .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + employeeDTO.getDepartment().getId()));
-        existingEmployee = convertToExistingEntity(employeeDTO, existingEmployee);
+        Long previousDepartmentId = existingEmployee.getDepartment().getId();
+        employeeMapper.updateEntity(employeeDTO, existingEmployee);
         existingEmployee.setDepartment(department);
         existingEmployee = employeeRepository.save(existingEmployee);
-        return convertToDTO(existingEmployee);
+        EmployeeDTO updated = employeeMapper.toDTO(existingEmployee);
+        outboxService.record(OutboxEventType.EMPLOYEE_UPDATED, id, updated);
+        suggestionIndex.putAfterCommit(toSuggestion(existingEmployee));
+        salaryStatsService.invalidateAfterCommit(previousDepartmentId, department.getId());
+        tableChangeCounter.increment(TableChangeCounter.Table.EMPLOYEES);
+        return updated;
     }
 
     @Transactional
     public void deleteEmployee(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new EntityNotFoundException("Employee not found with id: " + id);
-        }
+        Long departmentId = employeeRepository.findDepartmentIdById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
         employeeRepository.deleteById(id);
+        outboxService.record(OutboxEventType.EMPLOYEE_DELETED, id, Map.of("departmentId", departmentId));
+        suggestionIndex.removeAfterCommit(id);
+        salaryStatsService.invalidateAfterCommit(departmentId);
+        tableChangeCounter.increment(TableChangeCounter.Table.EMPLOYEES);
     }
 
-    private EmployeeDTO convertToDTO(Employee employee) {
-        EmployeeDTO dto = new EmployeeDTO();
-        BeanUtils.copyProperties(employee, dto, "department");
-        if (employee.getDepartment() != null) {
-            DepartmentDTO deptDTO = new DepartmentDTO();
-            deptDTO.setId(employee.getDepartment().getId());
-            deptDTO.setName(employee.getDepartment().getName());
-            dto.setDepartment(deptDTO);
+    @RetryOnConflict
+    @Transactional
+    public BulkUpdateResult adjustSalaries(SalaryAdjustmentRequest request) {
+        if (departmentCache.findById(request.departmentId()).isEmpty()) {
+            throw new EntityNotFoundException("Department not found with id: " + request.departmentId());
+        }
+        int affected = employeeRepository.adjustSalariesByDepartment(request.departmentId(), 1 + request.percent() / 100);
+        if (affected > 0) {
+            outboxService.record(OutboxEventType.SALARIES_ADJUSTED, request.departmentId(),
+                    Map.of("departmentId", request.departmentId(), "percent", request.percent(), "affected", affected));
+            salaryStatsService.invalidateAfterCommit(request.departmentId());
+            tableChangeCounter.increment(TableChangeCounter.Table.EMPLOYEES);
         }
-        return dto;
+        return new BulkUpdateResult(affected);
     }
 
-    private Employee convertToNewEntity(EmployeeDTO dto) {
-        Employee employee = new Employee();
-        BeanUtils.copyProperties(dto, employee, "department", "id");
-        return employee;
+    @RetryOnConflict
+    @Transactional
+    public BulkUpdateResult transferEmployees(DepartmentTransferRequest request) {
+        EmployeeSearchCriteria filter = request.filter();
+        if (Stream.of(filter.departmentId(), filter.departmentName(), filter.salaryMin(), filter.salaryMax(),
+                filter.hiredFrom(), filter.hiredTo(), filter.name()).allMatch(Objects::isNull)) {
+            throw new BadRequestException("At least one filter is required");
+        }
+        if (departmentCache.findById(request.targetDepartmentId()).isEmpty()) {
+            throw new EntityNotFoundException("Department not found with id: " + request.targetDepartmentId());
+        }
+        Specification<Employee> specification = toSpecification(filter);
+        if (specification == null) {
+            return new BulkUpdateResult(0);
+        }
+        int affected = employeeRepository.moveToDepartment(specification, request.targetDepartmentId());
+        if (affected > 0) {
+            outboxService.record(OutboxEventType.EMPLOYEES_TRANSFERRED, request.targetDepartmentId(),
+                    Map.of("filter", filter, "targetDepartmentId", request.targetDepartmentId(), "affected", affected));
+            salaryStatsService.invalidateAllAfterCommit();
+            tableChangeCounter.increment(TableChangeCounter.Table.EMPLOYEES);
+        }
+        return new BulkUpdateResult(affected);
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public BulkUpdateResult deleteEmployees(Collection<Long> ids) {
+        int affected = employeeRepository.deleteByIdIn(ids);
+        if (affected > 0) {
+            outboxService.record(OutboxEventType.EMPLOYEES_DELETED, null, Map.of("ids", ids, "affected", affected));
+            suggestionIndex.removeAllAfterCommit(ids);
+            salaryStatsService.invalidateAllAfterCommit();
+            tableChangeCounter.increment(TableChangeCounter.Table.EMPLOYEES);
+        }
+        return new BulkUpdateResult(affected);
+    }
+
+    private static boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Employee.EMAIL_CONSTRAINT);
+    }
+
+    /**
+     * Validates the search filters and turns them into a specification, resolving a department name through the
+     * cache. Returns null when the filters cannot match any employee.
+     */
+    private Specification<Employee> toSpecification(EmployeeSearchCriteria criteria) {
+        if (criteria.salaryMin() != null && criteria.salaryMax() != null && criteria.salaryMin() > criteria.salaryMax()) {
+            throw new BadRequestException("salaryMin must not be greater than salaryMax");
+        }
+        if (criteria.hiredFrom() != null && criteria.hiredTo() != null && criteria.hiredFrom().isAfter(criteria.hiredTo())) {
+            throw new BadRequestException("hiredFrom must not be after hiredTo");
+        }
+        Long departmentId = criteria.departmentId();
+        if (criteria.departmentName() != null && !criteria.departmentName().isBlank()) {
+            Long namedDepartmentId = departmentCache.findByName(criteria.departmentName().trim())
+                    .map(Department::getId)
+                    .orElse(null);
+            if (namedDepartmentId == null || (departmentId != null && !departmentId.equals(namedDepartmentId))) {
+                return null;
+            }
+            departmentId = namedDepartmentId;
+        }
+        return EmployeeSpecifications.search(departmentId, criteria.salaryMin(), criteria.salaryMax(),
+                criteria.hiredFrom(), criteria.hiredTo(), criteria.name());
     }
 
-    private Employee convertToExistingEntity(EmployeeDTO dto,Employee employee) {
-        BeanUtils.copyProperties(dto, employee, "department", "id");
-        return employee;
+    static EmployeeSuggestion toSuggestion(Employee employee) {
+        return new EmployeeSuggestion(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
     }
 }
@@ -0,0 +1,484 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suezcanal.employeemangement.dto.ChangeEvent;
+import com.suezcanal.employeemangement.dto.EmployeeSuggestion;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Case-insensitive prefix index over employee first names, last names and emails for typeahead.
+ * <p>
+ * Most entries live in an immutable snapshot: one {@code first\u001Flast\u001Femail} string and one id per
+ * employee, plus an {@code int[]} of (slot, field) keys sorted by field value, so a lookup is a binary search
+ * followed by a scan of at most a few entries past the limit. Writes rebuild a small overlay snapshot of new
+ * versions (by merge, so linear in the overlay size) and a set of snapshot ids to hide; both are folded into a new
+ * snapshot once they hold {@code employees.suggest.compaction-threshold} changes. Lookups never lock and never
+ * query the database; the snapshot is loaded from the employees table once the application is ready.
+ * <p>
+ * Writes on this instance are applied when they commit; writes on every instance, this one included, are applied
+ * again when they arrive on the {@link ChangeFeed}, so other instances' creates, renames and deletes show up
+ * within the feed's lag. Applying a change twice is harmless.
+ */
+@Component
+@Slf4j
+public class EmployeeSuggestionIndex implements MeterBinder {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final int FIELD_BITS = 2;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int FIELDS = 3;
+
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+    private final int compactionThreshold;
+    private volatile State state = new State(Snapshot.EMPTY, Snapshot.EMPTY, Set.of());
+
+    public EmployeeSuggestionIndex(EmployeeRepository employeeRepository, ObjectMapper objectMapper,
+                                   @Value("${employees.suggest.compaction-threshold:4096}") int compactionThreshold) {
+        this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Runs after {@link ChangeFeed#start()}, so every change committed after the load is read arrives on the feed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        Snapshot.Builder builder = new Snapshot.Builder();
+        try (Stream<EmployeeSuggestion> employees = employeeRepository.streamSuggestions()) {
+            employees.forEach(builder::add);
+        }
+        Snapshot snapshot = builder.build();
+        synchronized (this) {
+            // Changes recorded while loading stay in the overlay and still shadow the rows they touched
+            state = new State(snapshot, state.overlay(), state.hidden());
+            compactIfNeeded();
+        }
+        log.info("Loaded suggestion index with {} employees ({} bytes) in {} ms", snapshot.size(),
+                snapshot.estimatedBytes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Returns up to {@code limit} employees with a first name, last name or email starting with {@code query}
+     * (ignoring case), ordered by the matching value.
+     */
+    public List<EmployeeSuggestion> suggest(String query, int limit) {
+        String prefix = fold(query);
+        State current = state;
+        List<Match> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        current.snapshot().collect(prefix, limit, current.hidden(), seen, matches);
+        current.overlay().collect(prefix, limit, Set.of(), seen, matches);
+        return matches.stream()
+                .sorted(Comparator.comparing(Match::field, EmployeeSuggestionIndex::compareFolded)
+                        .thenComparing(match -> match.employee().id()))
+                .limit(limit)
+                .map(Match::employee)
+                .toList();
+    }
+
+    /**
+     * Applies an employee change from the change feed, whichever instance made it.
+     */
+    @EventListener
+    public void onChange(ChangeEvent change) {
+        try {
+            switch (change.type()) {
+                case EMPLOYEE_CREATED, EMPLOYEE_UPDATED -> {
+                    JsonNode employee = objectMapper.readTree(change.payload());
+                    putAll(List.of(new EmployeeSuggestion(change.aggregateId(), employee.path("firstName").textValue(),
+                            employee.path("lastName").textValue(), employee.path("email").textValue())));
+                }
+                case EMPLOYEE_DELETED -> removeAll(List.of(change.aggregateId()));
+                case EMPLOYEES_DELETED -> removeAll(ids(change));
+                // the event only holds ids; rows deleted since are simply not found
+                case EMPLOYEES_IMPORTED -> putAll(employeeRepository.findSuggestionsByIdIn(ids(change)));
+                default -> {
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed change {} ({}): {}", change.sequence(), change.type(), e.getOriginalMessage());
+        }
+    }
+
+    private List<Long> ids(ChangeEvent change) throws JsonProcessingException {
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(change.payload()).path("ids").forEach(id -> ids.add(id.asLong()));
+        return ids;
+    }
+
+    public void putAfterCommit(EmployeeSuggestion employee) {
+        afterCommit(() -> putAll(List.of(employee)));
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> removeAll(List.of(id)));
+    }
+
+    public void removeAllAfterCommit(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(() -> removeAll(removed));
+    }
+
+    public synchronized void putAll(Collection<EmployeeSuggestion> employees) {
+        Set<Long> ids = new HashSet<>();
+        employees.forEach(employee -> ids.add(employee.id()));
+        apply(employees, ids);
+    }
+
+    public synchronized void removeAll(Collection<Long> ids) {
+        apply(List.of(), new HashSet<>(ids));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.suggest.index.employees", this, index -> index.state.snapshot().size())
+                .description("Employees in the suggestion index snapshot")
+                .register(registry);
+        Gauge.builder("app.suggest.index.pending", this, index -> index.state.overlay().size() + index.state.hidden().size())
+                .description("Changes waiting in the suggestion index overlay")
+                .register(registry);
+        Gauge.builder("app.suggest.index.memory", this, index -> index.state.snapshot().estimatedBytes())
+                .description("Estimated heap used by the suggestion index snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    long size() {
+        return state.snapshot().size();
+    }
+
+    long estimatedBytes() {
+        return state.snapshot().estimatedBytes();
+    }
+
+    /**
+     * Replaces the overlay versions of {@code ids} with {@code employees} (a sorted merge, linear in the overlay
+     * size) and hides the snapshot versions.
+     */
+    private void apply(Collection<EmployeeSuggestion> employees, Set<Long> ids) {
+        State current = state;
+        Set<Long> hidden = new HashSet<>(current.hidden());
+        ids.stream()
+                .filter(id -> id <= current.snapshot().maxId())
+                .forEach(hidden::add);
+        state = new State(current.snapshot(), current.overlay().merge(employees, ids), Set.copyOf(hidden));
+        compactIfNeeded();
+    }
+
+    private void compactIfNeeded() {
+        State current = state;
+        if (current.snapshot() != Snapshot.EMPTY
+                && current.overlay().size() + current.hidden().size() >= compactionThreshold) {
+            Snapshot merged = current.snapshot().merge(current.overlay().suggestions(), current.hidden());
+            state = new State(merged, Snapshot.EMPTY, Set.of());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int fieldStart(String text, int key) {
+        int field = key & FIELD_MASK;
+        return field == 0 ? 0 : field == 1 ? text.indexOf(SEPARATOR) + 1 : text.lastIndexOf(SEPARATOR) + 1;
+    }
+
+    private static int fieldEnd(String text, int key) {
+        int field = key & FIELD_MASK;
+        return field == 0 ? text.indexOf(SEPARATOR) : field == 1 ? text.lastIndexOf(SEPARATOR) : text.length();
+    }
+
+    private static String fold(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static boolean startsWithFolded(String text, int from, int to, String prefix) {
+        if (to - from < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(text.charAt(from + i)) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compareFolded(String a, String b) {
+        return compareFolded(a, 0, a.length(), b, 0, b.length());
+    }
+
+    private static int compareFolded(String a, int aFrom, int aTo, String b, int bFrom, int bTo) {
+        int length = Math.min(aTo - aFrom, bTo - bFrom);
+        for (int i = 0; i < length; i++) {
+            int diff = Character.toLowerCase(a.charAt(aFrom + i)) - Character.toLowerCase(b.charAt(bFrom + i));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (aTo - aFrom) - (bTo - bFrom);
+    }
+
+    private record State(Snapshot snapshot, Snapshot overlay, Set<Long> hidden) {
+    }
+
+    private record Match(String field, EmployeeSuggestion employee) {
+    }
+
+    /**
+     * Employees in slot order. {@code keys} holds {@code slot << 2 | field} for every non-empty field, sorted by
+     * the folded field value and then by key. Ids above {@code maxId} cannot be in the snapshot, so changes to them
+     * need no hiding; the placeholder used before loading hides every change.
+     */
+    private record Snapshot(String[] texts, long[] ids, int[] keys, long maxId, long estimatedBytes) {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new long[0], new int[0], Long.MAX_VALUE, 0);
+
+        int size() {
+            return ids.length;
+        }
+
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                String text = texts[keys[mid] >>> FIELD_BITS];
+                if (compareFolded(text, fieldStart(text, keys[mid]), fieldEnd(text, keys[mid]), prefix, 0, prefix.length()) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Adds up to {@code limit} employees with a field starting with {@code prefix}, skipping {@code hidden}
+         * ids and ids already {@code seen}.
+         */
+        void collect(String prefix, int limit, Set<Long> hidden, Set<Long> seen, List<Match> matches) {
+            int found = 0;
+            for (int i = lowerBound(prefix); i < keys.length && found < limit; i++) {
+                int key = keys[i];
+                if (!startsWith(key, prefix)) {
+                    break;
+                }
+                int slot = key >>> FIELD_BITS;
+                if (!hidden.contains(ids[slot]) && seen.add(ids[slot])) {
+                    matches.add(new Match(field(key), suggestion(slot)));
+                    found++;
+                }
+            }
+        }
+
+        List<EmployeeSuggestion> suggestions() {
+            List<EmployeeSuggestion> suggestions = new ArrayList<>(ids.length);
+            for (int slot = 0; slot < ids.length; slot++) {
+                suggestions.add(suggestion(slot));
+            }
+            return suggestions;
+        }
+
+        boolean startsWith(int key, String prefix) {
+            String text = texts[key >>> FIELD_BITS];
+            return startsWithFolded(text, fieldStart(text, key), fieldEnd(text, key), prefix);
+        }
+
+        String field(int key) {
+            String text = texts[key >>> FIELD_BITS];
+            return text.substring(fieldStart(text, key), fieldEnd(text, key));
+        }
+
+        EmployeeSuggestion suggestion(int slot) {
+            String text = texts[slot];
+            int first = text.indexOf(SEPARATOR);
+            int second = text.indexOf(SEPARATOR, first + 1);
+            return new EmployeeSuggestion(ids[slot], emptyToNull(text.substring(0, first)),
+                    emptyToNull(text.substring(first + 1, second)), emptyToNull(text.substring(second + 1)));
+        }
+
+        Snapshot merge(Collection<EmployeeSuggestion> added, Set<Long> hidden) {
+            int[] remap = new int[ids.length];
+            Builder builder = new Builder(ids.length + added.size());
+            for (int slot = 0; slot < ids.length; slot++) {
+                remap[slot] = hidden.contains(ids[slot]) ? -1 : builder.append(texts[slot], ids[slot]);
+            }
+            int[] kept = new int[keys.length];
+            int keptCount = 0;
+            for (int key : keys) {
+                int slot = remap[key >>> FIELD_BITS];
+                if (slot >= 0) {
+                    kept[keptCount++] = slot << FIELD_BITS | (key & FIELD_MASK);
+                }
+            }
+            int firstAdded = builder.size;
+            added.forEach(builder::add);
+            int[] addedKeys = builder.keys(firstAdded);
+            builder.sort(addedKeys);
+            return builder.build(builder.merge(Arrays.copyOf(kept, keptCount), addedKeys));
+        }
+
+        private static String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+
+        static final class Builder {
+
+            private String[] texts;
+            private long[] ids;
+            private int size;
+
+            Builder() {
+                this(1024);
+            }
+
+            Builder(int capacity) {
+                texts = new String[Math.max(capacity, 16)];
+                ids = new long[texts.length];
+            }
+
+            void add(EmployeeSuggestion employee) {
+                append(String.join(String.valueOf(SEPARATOR), clean(employee.firstName()), clean(employee.lastName()),
+                        clean(employee.email())), employee.id());
+            }
+
+            int append(String text, long id) {
+                if (size == texts.length) {
+                    texts = Arrays.copyOf(texts, size * 2);
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                texts[size] = text;
+                ids[size] = id;
+                return size++;
+            }
+
+            Snapshot build() {
+                int[] keys = keys(0);
+                sort(keys);
+                return build(keys);
+            }
+
+            Snapshot build(int[] keys) {
+                String[] finalTexts = Arrays.copyOf(texts, size);
+                long[] finalIds = Arrays.copyOf(ids, size);
+                long bytes = (long) size * (Integer.BYTES + Long.BYTES) + (long) keys.length * Integer.BYTES;
+                for (String text : finalTexts) {
+                    // String header and value array header, Latin-1 content rounded up to 8 bytes
+                    bytes += 24 + 16 + ((text.length() + 7) & ~7);
+                }
+                return new Snapshot(finalTexts, finalIds, keys, Arrays.stream(finalIds).max().orElse(Long.MIN_VALUE), bytes);
+            }
+
+            int[] keys(int fromSlot) {
+                int[] keys = new int[(size - fromSlot) * FIELDS];
+                int count = 0;
+                for (int slot = fromSlot; slot < size; slot++) {
+                    String text = texts[slot];
+                    int first = text.indexOf(SEPARATOR);
+                    int second = text.lastIndexOf(SEPARATOR);
+                    if (first > 0) {
+                        keys[count++] = slot << FIELD_BITS;
+                    }
+                    if (second > first + 1) {
+                        keys[count++] = slot << FIELD_BITS | 1;
+                    }
+                    if (text.length() > second + 1) {
+                        keys[count++] = slot << FIELD_BITS | 2;
+                    }
+                }
+                return Arrays.copyOf(keys, count);
+            }
+
+            /**
+             * Merge sort on the primitive keys; boxing three keys per employee for {@code Arrays.sort} with a
+             * comparator would double the memory needed to build a snapshot.
+             */
+            void sort(int[] keys) {
+                int[] buffer = new int[keys.length];
+                for (int width = 1; width < keys.length; width *= 2) {
+                    for (int from = 0; from < keys.length - width; from += 2 * width) {
+                        int mid = from + width;
+                        int to = Math.min(from + 2 * width, keys.length);
+                        mergeInto(keys, from, mid, keys, mid, to, buffer, from);
+                        System.arraycopy(buffer, from, keys, from, to - from);
+                    }
+                }
+            }
+
+            int[] merge(int[] left, int[] right) {
+                int[] merged = new int[left.length + right.length];
+                mergeInto(left, 0, left.length, right, 0, right.length, merged, 0);
+                return merged;
+            }
+
+            private void mergeInto(int[] left, int leftFrom, int leftTo, int[] right, int rightFrom, int rightTo,
+                                   int[] out, int outFrom) {
+                int i = leftFrom;
+                int j = rightFrom;
+                int k = outFrom;
+                while (i < leftTo && j < rightTo) {
+                    out[k++] = compareKeys(left[i], right[j]) <= 0 ? left[i++] : right[j++];
+                }
+                while (i < leftTo) {
+                    out[k++] = left[i++];
+                }
+                while (j < rightTo) {
+                    out[k++] = right[j++];
+                }
+            }
+
+            private int compareKeys(int a, int b) {
+                String aText = texts[a >>> FIELD_BITS];
+                String bText = texts[b >>> FIELD_BITS];
+                int result = compareFolded(aText, fieldStart(aText, a), fieldEnd(aText, a),
+                        bText, fieldStart(bText, b), fieldEnd(bText, b));
+                return result != 0 ? result : Integer.compare(a, b);
+            }
+
+            private static String clean(String value) {
+                return value == null ? "" : value.replace(SEPARATOR, ' ');
+            }
+        }
+    }
+}
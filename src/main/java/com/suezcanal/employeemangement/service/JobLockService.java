@@ -0,0 +1,95 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.repository.JobLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lets one instance of a cluster run a job at a time, through the {@code job_locks} table of the shared
+ * database. A lock is taken with a single conditional update (or the insert of its row the first time), each in
+ * its own short transaction, and is held until {@code lockAtMostFor} even if the holder dies. On release it is
+ * kept until {@code lockAtLeastFor} after it was taken, so instances whose clocks fire a little later skip the
+ * same run instead of repeating it. Expiry is judged by each instance's own clock, so clocks must be in sync to
+ * well within {@code lockAtLeastFor}.
+ */
+@Service
+@Slf4j
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId;
+
+    public JobLockService(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager,
+                          @Value("${scheduler.lock.instance-id:}") String instanceId) {
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.instanceId = instanceId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8)
+                : instanceId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Runs {@code task} if this instance can take the lock {@code name}; returns false without running it when
+     * another instance holds the lock.
+     */
+    public boolean runLocked(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        LocalDateTime lockedAt = LocalDateTime.now();
+        if (!tryLock(name, lockedAt, lockedAt.plus(lockAtMostFor))) {
+            log.debug("Job {} is locked by another instance, skipping", name);
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } finally {
+            LocalDateTime earliestRelease = lockedAt.plus(lockAtLeastFor);
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime lockedUntil = now.isAfter(earliestRelease) ? now : earliestRelease;
+            transactionTemplate.executeWithoutResult(status -> jobLockRepository.updateLockedUntil(name, instanceId, lockedUntil));
+        }
+    }
+
+    /**
+     * Extends the lock {@code name} held by this instance to {@code lockAtMostFor} from now, in the caller's
+     * transaction. The lock row stays locked until that transaction ends, so no other instance can take the lock
+     * over while it runs. Returns false when another instance has taken the lock over in the meantime.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean extend(String name, Duration lockAtMostFor) {
+        return jobLockRepository.updateLockedUntil(name, instanceId, LocalDateTime.now().plus(lockAtMostFor)) == 1;
+    }
+
+    private boolean tryLock(String name, LocalDateTime now, LocalDateTime lockedUntil) {
+        Boolean acquired = transactionTemplate.execute(status ->
+                jobLockRepository.acquireExpired(name, instanceId, now, lockedUntil) == 1);
+        if (Boolean.TRUE.equals(acquired)) {
+            return true;
+        }
+        try {
+            // first run of this job anywhere: whoever inserts the row holds the lock. A plain insert, not save(),
+            // which would merge into a row another instance created meanwhile and take its lock over.
+            return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    !jobLockRepository.existsById(name) && jobLockRepository.insert(name, instanceId, now, lockedUntil) == 1));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class KeysetCursor {
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+        if (!value.startsWith(PREFIX) || value.length() == PREFIX.length()) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        try {
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Downstream of the outbox relay. Called with each batch, in id order, inside the transaction that deletes the
+ * batch: database writes commit together with the delete, and a consumer that throws rolls the batch back for a
+ * retry. Consumers skip event types they do not handle, and must tolerate seeing a batch again after another
+ * consumer failed.
+ */
+public interface OutboxConsumer {
+
+    void accept(List<OutboxEvent> events);
+}
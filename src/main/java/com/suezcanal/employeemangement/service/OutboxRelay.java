@@ -0,0 +1,179 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.configuration.OutboxProperties;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the outbox to the {@link OutboxConsumer}s off the request path. Each batch is handed to every consumer
+ * and deleted in one transaction; when that fails the batch is redelivered event by event so only the failing
+ * events are held back. A failing event waits an exponentially growing backoff before its next attempt and
+ * becomes a dead letter after {@code outbox.max-attempts}. Writers never wait for the relay: a slow consumer
+ * shows up as a growing backlog and lag rather than as request latency.
+ * <p>
+ * Runs under the {@value #LOCK_NAME} cluster lock, and every batch transaction first extends that lock by
+ * {@code outbox.lock-at-most-for}. A run longer than the lock therefore keeps it, and batches of two instances
+ * never commit at the same time even if the lock was taken over: the instance that lost it stops at its next
+ * batch.
+ */
+@Service
+@EnableConfigurationProperties(OutboxProperties.class)
+@Slf4j
+public class OutboxRelay implements MeterBinder {
+
+    public static final String LOCK_NAME = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxConsumer> consumers;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+    private volatile LocalDateTime oldestPending;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxConsumer> consumers,
+                       JobLockService jobLockService, TransactionTemplate transactionTemplate, OutboxProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.consumers = consumers;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Delivers up to {@code outbox.max-batches-per-run} batches of ready events and refreshes the backlog
+     * figures. Returns the number of events delivered.
+     */
+    public int drain() {
+        int delivered = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            List<OutboxEvent> events = outboxEventRepository.findReady(properties.maxAttempts(), LocalDateTime.now(),
+                    Limit.of(properties.batchSize()));
+            if (events.isEmpty()) {
+                break;
+            }
+            try {
+                delivered += deliver(events);
+            } catch (LockLostException e) {
+                log.warn("Outbox relay lock was taken over by another instance, stopping this run");
+                break;
+            }
+            if (events.size() < properties.batchSize()) {
+                break;
+            }
+        }
+        refreshBacklog();
+        return delivered;
+    }
+
+    private int deliver(List<OutboxEvent> events) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!jobLockService.extend(LOCK_NAME, properties.lockAtMostFor())) {
+                    throw new LockLostException();
+                }
+                consumers.forEach(consumer -> consumer.accept(events));
+                outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+            });
+            relayed.add(events.size());
+            return events.size();
+        } catch (LockLostException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (events.size() == 1) {
+                recordFailure(events.getFirst(), e);
+                return 0;
+            }
+            log.warn("Outbox batch of {} events failed, redelivering one by one: {}", events.size(), e.getMessage());
+            int delivered = 0;
+            for (OutboxEvent event : events) {
+                delivered += deliver(List.of(event));
+            }
+            return delivered;
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException cause) {
+        failures.increment();
+        int attempt = event.getAttempts() + 1;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempt));
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.recordFailure(event.getId(), nextAttemptAt));
+        if (attempt >= properties.maxAttempts()) {
+            log.error("Outbox event {} ({}) failed {} times and is now a dead letter", event.getId(), event.getType(), attempt, cause);
+        } else {
+            log.warn("Outbox event {} ({}) failed attempt {}, retrying at {}: {}", event.getId(), event.getType(), attempt,
+                    nextAttemptAt, cause.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+    }
+
+    private void refreshBacklog() {
+        long backlog = outboxEventRepository.countByAttemptsLessThan(properties.maxAttempts());
+        pending.set(backlog);
+        deadLetters.set(outboxEventRepository.countByAttemptsGreaterThanEqual(properties.maxAttempts()));
+        oldestPending = backlog == 0 ? null : outboxEventRepository.findOldestPendingCreatedAt(properties.maxAttempts());
+        if (backlog > properties.backlogWarningThreshold()) {
+            log.warn("Outbox backlog of {} events exceeds {}, consumers are falling behind", backlog, properties.backlogWarningThreshold());
+        }
+    }
+
+    /**
+     * Seconds since the oldest undelivered event was recorded, as of now; keeps growing when the relay stalls.
+     */
+    double lagSeconds() {
+        LocalDateTime oldest = oldestPending;
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    /**
+     * This instance no longer holds the relay lock; the batch is left to the new holder.
+     */
+    private static final class LockLostException extends RuntimeException {
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("app.outbox.events", relayed, LongAdder::sum)
+                .description("Outbox events delivered to all consumers")
+                .tag("outcome", "relayed")
+                .register(registry);
+        FunctionCounter.builder("app.outbox.events", failures, LongAdder::sum)
+                .description("Outbox event deliveries that failed and were rescheduled")
+                .tag("outcome", "failed")
+                .register(registry);
+        Gauge.builder("app.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events awaiting delivery, as of the last relay run")
+                .register(registry);
+        Gauge.builder("app.outbox.dead.letters", deadLetters, AtomicLong::get)
+                .description("Outbox events that exhausted their attempts")
+                .register(registry);
+        TimeGauge.builder("app.outbox.lag", this, TimeUnit.SECONDS, OutboxRelay::lagSeconds)
+                .description("Age of the oldest outbox event awaiting delivery")
+                .register(registry);
+    }
+}
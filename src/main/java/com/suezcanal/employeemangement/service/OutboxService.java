@@ -0,0 +1,39 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Adds an event to the outbox as part of the caller's transaction, so it exists exactly when the change does.
+     * Costs the caller one insert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType type, Long aggregateId, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.save(new OutboxEvent(null, type, aggregateId, toJson(payload), now, 0, now));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.suezcanal.employeemangement.dto.ChangeEvent;
+import com.suezcanal.employeemangement.dto.SalaryStats;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Salary aggregates per department and across all departments. Each computation is one pass over the salaries
+ * streamed in ascending order (for one department straight from the (department_id, salary) index) into a
+ * {@code double[]}, so no entities are loaded and percentiles are exact. Results are cached until an employee
+ * write in the department commits: at once on the instance that made it, and through the change feed on the
+ * others, within its lag. The ttl only bounds staleness after changes made outside the application.
+ */
+@Service
+@Timed("app.service")
+@Slf4j
+public class SalaryStatsService {
+
+    private static final String ALL = "all";
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentCache departmentCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, SalaryStats> byDepartment;
+    private final Cache<String, SalaryStats> all;
+
+    public SalaryStatsService(EmployeeRepository employeeRepository,
+                              DepartmentCache departmentCache,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${salary-stats.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${salary-stats.cache.ttl:1h}") Duration ttl) {
+        this.employeeRepository = employeeRepository;
+        this.departmentCache = departmentCache;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.byDepartment = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+        this.all = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(ttl).build();
+    }
+
+    public SalaryStats getDepartmentSalaryStats(Long departmentId) {
+        if (departmentCache.findById(departmentId).isEmpty()) {
+            throw new EntityNotFoundException("Department not found with id: " + departmentId);
+        }
+        return byDepartment.get(departmentId, id -> compute(id, () -> employeeRepository.streamSalariesByDepartment(id)));
+    }
+
+    public SalaryStats getSalaryStats() {
+        return all.get(ALL, key -> compute(null, employeeRepository::streamSalaries));
+    }
+
+    public void invalidate(Collection<Long> departmentIds) {
+        byDepartment.invalidateAll(departmentIds);
+        all.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        byDepartment.invalidateAll();
+        all.invalidateAll();
+    }
+
+    public void invalidateAfterCommit(Long... departmentIds) {
+        List<Long> ids = Arrays.stream(departmentIds).distinct().toList();
+        afterCommit(() -> invalidate(ids));
+    }
+
+    /**
+     * For writes whose source departments are not known, such as a filtered department transfer.
+     */
+    public void invalidateAllAfterCommit() {
+        afterCommit(this::invalidateAll);
+    }
+
+    /**
+     * Drops the statistics a committed change on any instance may have moved. Events that do not name the
+     * departments they touched, including an update that may have moved the employee out of another department,
+     * drop everything.
+     */
+    @EventListener
+    public void onChange(ChangeEvent change) {
+        try {
+            switch (change.type()) {
+                case EMPLOYEE_CREATED -> invalidate(List.of(objectMapper.readTree(change.payload())
+                        .path("department").path("id").asLong()));
+                case EMPLOYEE_DELETED -> invalidate(List.of(objectMapper.readTree(change.payload())
+                        .path("departmentId").asLong()));
+                case SALARIES_ADJUSTED -> invalidate(List.of(change.aggregateId()));
+                case EMPLOYEE_UPDATED, EMPLOYEES_IMPORTED, EMPLOYEES_TRANSFERRED, EMPLOYEES_DELETED -> invalidateAll();
+                default -> {
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping all salary statistics for malformed change {} ({}): {}", change.sequence(), change.type(),
+                    e.getOriginalMessage());
+            invalidateAll();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private SalaryStats compute(Long departmentId, Supplier<Stream<Double>> sortedSalaries) {
+        return transactionTemplate.execute(status -> {
+            try (Stream<Double> salaries = sortedSalaries.get()) {
+                return summarize(departmentId, salaries.iterator());
+            }
+        });
+    }
+
+    static SalaryStats summarize(Long departmentId, Iterator<Double> sortedSalaries) {
+        double[] salaries = new double[1024];
+        int count = 0;
+        double sum = 0;
+        while (sortedSalaries.hasNext()) {
+            double salary = sortedSalaries.next();
+            if (count == salaries.length) {
+                salaries = Arrays.copyOf(salaries, count * 2);
+            }
+            salaries[count++] = salary;
+            sum += salary;
+        }
+        if (count == 0) {
+            return new SalaryStats(departmentId, 0, null, null, null, null, null, null);
+        }
+        return new SalaryStats(departmentId, count, salaries[0], salaries[count - 1], sum / count,
+                percentile(salaries, count, 0.50), percentile(salaries, count, 0.90), percentile(salaries, count, 0.99));
+    }
+
+    private static double percentile(double[] sorted, int count, double percentile) {
+        return sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)];
+    }
+}
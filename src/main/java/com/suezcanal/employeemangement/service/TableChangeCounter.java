@@ -0,0 +1,127 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.model.TableVersion;
+import com.suezcanal.employeemangement.repository.TableVersionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-table change counters behind the ETags of collection reads, kept in the {@code table_versions} table of the
+ * shared database so every instance agrees on them. A write moves its counter in its own transaction, right
+ * before the commit, so the new ETag becomes visible together with the data and a rolled-back write never moves
+ * it; writers of one table queue on its counter row only while they commit. Counter rows start from the time
+ * they are created, so a recreated database never reproduces an old ETag. Callers must read the ETag before
+ * loading the data it describes.
+ */
+@Component
+public class TableChangeCounter {
+
+    public enum Table {
+        DEPARTMENTS, EMPLOYEES
+    }
+
+    private final TableVersionRepository tableVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean rowsCreated;
+
+    public TableChangeCounter(TableVersionRepository tableVersionRepository, PlatformTransactionManager transactionManager) {
+        this.tableVersionRepository = tableVersionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Strong ETag over the current counters of {@code tables}, for a resource that depends on all of them. Costs
+     * one primary-key read.
+     */
+    public String etag(Table... tables) {
+        createRows();
+        Map<String, Long> versions = tableVersionRepository.findAllById(names(Arrays.asList(tables))).stream()
+                .collect(Collectors.toMap(TableVersion::getName, TableVersion::getVersion));
+        return Arrays.stream(tables)
+                .map(table -> Long.toString(versions.get(table.name()), 36))
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Moves the counter of {@code table} when the current transaction commits; without a transaction, at once.
+     * All counters a transaction moves are updated in one statement.
+     */
+    @SuppressWarnings("unchecked")
+    public void increment(Table table) {
+        createRows();
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> tableVersionRepository.increment(List.of(table.name())));
+            return;
+        }
+        Set<Table> pending = (Set<Table>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            pending.add(table);
+            return;
+        }
+        Set<Table> tables = EnumSet.of(table);
+        TransactionSynchronizationManager.bindResource(this, tables);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                tableVersionRepository.increment(names(tables));
+            }
+
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(TableChangeCounter.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TableChangeCounter.this, tables);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TableChangeCounter.this);
+            }
+        });
+    }
+
+    /**
+     * Creates the missing counter rows at startup, so reads and writes never wait for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createRows() {
+        if (rowsCreated) {
+            return;
+        }
+        for (Table table : Table.values()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!tableVersionRepository.existsById(table.name())) {
+                        tableVersionRepository.saveAndFlush(new TableVersion(table.name(), System.currentTimeMillis()));
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                // created by another instance in the meantime
+            }
+        }
+        rowsCreated = true;
+    }
+
+    private static List<String> names(Collection<Table> tables) {
+        return tables.stream().map(Table::name).toList();
+    }
+}
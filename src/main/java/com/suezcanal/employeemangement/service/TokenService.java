@@ -0,0 +1,121 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HEADER = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.ttl:15m}") Duration ttl,
+                        ObjectMapper objectMapper) {
+        this(secret, ttl, objectMapper, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, ObjectMapper objectMapper, Clock clock) {
+        this.key = new SecretKeySpec(resolveSecret(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public String issue(String username, String role) {
+        Instant now = clock.instant();
+        TokenClaims claims = new TokenClaims(username, role, now.getEpochSecond(), now.plus(ttl).getEpochSecond());
+        String signingInput = HEADER + "." + encode(toJson(claims));
+        return signingInput + "." + encode(sign(signingInput));
+    }
+
+    public Optional<TokenClaims> verify(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !HEADER.equals(token.substring(0, firstDot))) {
+            return Optional.empty();
+        }
+        try {
+            byte[] expected = sign(token.substring(0, lastDot));
+            byte[] actual = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+            TokenClaims claims = objectMapper.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)), TokenClaims.class);
+            if (claims.sub() == null || claims.role() == null || clock.instant().getEpochSecond() >= claims.exp()) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+    }
+
+    private byte[] toJson(TokenClaims claims) {
+        try {
+            return objectMapper.writeValueAsBytes(claims);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize token claims", e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("security.token.secret is not set, generating a random signing key; tokens will not survive a restart or be accepted by other instances");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("security.token.secret must be at least 32 bytes for HS256");
+        }
+        return bytes;
+    }
+
+    public record TokenClaims(String sub, String role, long iat, long exp) {
+    }
+}
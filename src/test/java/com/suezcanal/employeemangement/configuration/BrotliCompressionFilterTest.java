@@ -0,0 +1,177 @@
+package com.suezcanal.employeemangement.configuration;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrotliCompressionFilterTest {
+
+    private static final byte[] LARGE_BODY = "{\"name\":\"employee\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    private final BrotliCompressionFilter filter = new BrotliCompressionFilter(
+            List.of(MediaType.APPLICATION_JSON, MediaType.parseMediaType("application/x-protobuf")), 1024, 4, 18);
+
+    @BeforeAll
+    static void loadNativeLibrary() {
+        Brotli4jLoader.ensureAvailability();
+    }
+
+    @Test
+    void largeJson_IsCompressedWhenClientAcceptsBrotli() throws Exception {
+        MockHttpServletResponse response = filter("gzip, br", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertTrue(response.getContentAsByteArray().length < LARGE_BODY.length);
+        assertArrayEquals(LARGE_BODY, Decoder.decompress(response.getContentAsByteArray()).getDecompressedData());
+    }
+
+    @Test
+    void knownContentLength_IsDroppedWhenCompressing() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("br"), response, (req, res) -> {
+            res.setContentType("application/x-protobuf");
+            res.setContentLength(LARGE_BODY.length);
+            res.getOutputStream().write(LARGE_BODY);
+        });
+
+        assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void smallBody_IsPassedThroughWithItsLength() throws Exception {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse response = filter("br", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(body.length, response.getContentLength());
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void unlistedContentType_IsPassedThrough() throws Exception {
+        MockHttpServletResponse response = filter("br", MediaType.TEXT_EVENT_STREAM_VALUE, LARGE_BODY);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    void clientWithoutBrotli_IsPassedThrough() throws Exception {
+        assertNull(filter("gzip", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY).getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(filter("gzip, br;q=0", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY).getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("br", filter("gzip;q=1.0, br;q=0.5", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void strongETag_IsPassedThroughButWeakIsCompressed() throws Exception {
+        for (String etag : new String[]{"\"1\"", "W/\"1\""}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("br"), response, (req, res) -> {
+                res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, etag);
+                res.getOutputStream().write(LARGE_BODY);
+            });
+
+            assertEquals(etag.startsWith("W/") ? "br" : null, response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        }
+    }
+
+    @Test
+    void alreadyEncodedResponse_IsPassedThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("br"), response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            res.getOutputStream().write(LARGE_BODY);
+        });
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    void nonBlockingWrites_GoUncompressedToTheContainersStream() throws Exception {
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        List<WriteListener> registered = new ArrayList<>();
+        ServletOutputStream containerStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return false;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                registered.add(writeListener);
+            }
+
+            @Override
+            public void write(int b) {
+                written.write(b);
+            }
+        };
+        HttpServletResponse response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return containerStream;
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+
+        filter.doFilter(request("br"), response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ServletOutputStream out = res.getOutputStream();
+            out.setWriteListener(listener);
+            assertFalse(out.isReady());
+            out.write(LARGE_BODY);
+        });
+
+        assertEquals(List.of(listener), registered);
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_BODY, written.toByteArray());
+    }
+
+    private MockHttpServletResponse filter(String acceptEncoding, String contentType, byte[] body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType(contentType);
+            res.getOutputStream().write(body);
+        };
+        filter.doFilter(request(acceptEncoding), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+}
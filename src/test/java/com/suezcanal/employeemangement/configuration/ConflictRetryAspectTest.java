@@ -0,0 +1,83 @@
+package com.suezcanal.employeemangement.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictRetryAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void conflict_IsRetriedUntilAnAttemptSucceeds() {
+        Operation operation = proxy(new OptimisticLockingFailureException("stale"), new CannotAcquireLockException("timeout"));
+
+        assertEquals("done", operation.run());
+        assertEquals(3, operation.attempts());
+        assertEquals(2.0, conflicts("retried"));
+    }
+
+    @Test
+    void conflict_OnLastAttemptIsRethrown() {
+        Operation operation = proxy(new OptimisticLockingFailureException("1"), new OptimisticLockingFailureException("2"),
+                new OptimisticLockingFailureException("3"));
+
+        assertThrows(OptimisticLockingFailureException.class, operation::run);
+        assertEquals(3, operation.attempts());
+        assertEquals(2.0, conflicts("retried"));
+        assertEquals(1.0, conflicts("exhausted"));
+    }
+
+    private Operation proxy(RuntimeException... failures) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new FailingOperation(List.of(failures)));
+        factory.addAspect(new ConflictRetryAspect(meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(5)));
+        return factory.getProxy();
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.get("app.concurrency.conflicts")
+                .tag("operation", "FailingOperation.run")
+                .tag("outcome", outcome)
+                .counter().count();
+    }
+
+    interface Operation {
+        String run();
+
+        int attempts();
+    }
+
+    static class FailingOperation implements Operation {
+        private final Deque<RuntimeException> failures;
+        private int attempts;
+
+        FailingOperation(List<RuntimeException> failures) {
+            this.failures = new ArrayDeque<>(failures);
+        }
+
+        @Override
+        @RetryOnConflict
+        public String run() {
+            attempts++;
+            if (!failures.isEmpty()) {
+                throw failures.poll();
+            }
+            return "done";
+        }
+
+        @Override
+        public int attempts() {
+            return attempts;
+        }
+    }
+}
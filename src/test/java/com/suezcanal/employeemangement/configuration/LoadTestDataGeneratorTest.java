@@ -0,0 +1,97 @@
+package com.suezcanal.employeemangement.configuration;
+
+import com.suezcanal.employeemangement.model.Employee;
+import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"loadtest.departments=12", "loadtest.employees=3000", "loadtest.seed=42", "loadtest.threads=2"})
+@ActiveProfiles("loadtest")
+@Import({LoadTestDataGenerator.class, SecondLevelCacheConfig.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class LoadTestDataGeneratorTest {
+
+    private static final String ROW_WITHOUT_ID = """
+            SELECT first_name, last_name, date_of_birth, hire_date, phone_number, salary, department_id
+            FROM employees WHERE id >= ? ORDER BY id LIMIT ?
+            """;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void generatesValidEmployeesSkewedTowardsFirstDepartments() {
+        assertEquals(12, departmentRepository.count());
+        assertEquals(3000, employeeRepository.count());
+        assertEquals(3000, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT email) FROM employees", Integer.class));
+
+        List<Employee> sample = employeeRepository.findAll(PageRequest.of(0, 500, Sort.by("id"))).getContent();
+        assertTrue(sample.stream().allMatch(employee -> validator.validate(employee).isEmpty()));
+        assertTrue(sample.stream().allMatch(employee -> !employee.getHireDate().isBefore(employee.getDateOfBirth().plusYears(18))));
+        assertTrue(sample.stream().map(Employee::getHireDate).allMatch(date -> date.isBefore(LocalDate.now())));
+
+        List<Long> sizes = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM employees GROUP BY department_id ORDER BY department_id", Long.class);
+        assertTrue(sizes.getFirst() > 2 * sizes.getLast());
+    }
+
+    @Test
+    void sameSeedProducesSameRowsAndJpaInsertsStillWork() throws Exception {
+        long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employees", Long.class);
+        long nextId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employees", Long.class) + 1;
+
+        new LoadTestDataGenerator(new LoadTestProperties(12, 3000, 42, 1), dataSource, jdbcTemplate).run();
+        try {
+            List<Map<String, Object>> first = jdbcTemplate.queryForList(ROW_WITHOUT_ID, firstId, 3000);
+            List<Map<String, Object>> second = jdbcTemplate.queryForList(ROW_WITHOUT_ID, nextId, 3000);
+            assertEquals(first, second);
+        } finally {
+            // The generator commits on its own connections, so its rows outlive the test transaction
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM employees WHERE id >= " + nextId);
+            }
+        }
+
+        Employee employee = new Employee();
+        employee.setFirstName("New");
+        employee.setLastName("Hire");
+        employee.setEmail("new.hire@example.com");
+        employee.setDateOfBirth(LocalDate.of(1995, 5, 5));
+        employee.setHireDate(LocalDate.of(2024, 1, 1));
+        employee.setSalary(9000.0);
+        employee.setDepartment(departmentRepository.findAll().getFirst());
+        employeeRepository.saveAndFlush(employee);
+        assertTrue(employee.getId() > nextId + 3000);
+    }
+}
@@ -0,0 +1,54 @@
+package com.suezcanal.employeemangement.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+    private final Object lock = new Object();
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void sleepInsideSynchronized_IsReported() throws InterruptedException {
+        monitor.start();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(50);
+            }
+        }).join();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (monitor.getPinnedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, monitor.getPinnedCount());
+    }
+
+    @Test
+    void sleepOutsideSynchronized_IsNotReported() throws InterruptedException {
+        monitor.start();
+
+        Thread.ofVirtual().start(() -> sleep(50)).join();
+        Thread.sleep(2000);
+
+        assertEquals(0, monitor.getPinnedCount());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
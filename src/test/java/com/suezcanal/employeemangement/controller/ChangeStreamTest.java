@@ -0,0 +1,119 @@
+package com.suezcanal.employeemangement.controller;
+
+import com.suezcanal.employeemangement.repository.ChangeLogRepository;
+import com.suezcanal.employeemangement.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:change-stream-test", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class ChangeStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Test
+    void stream_PushesCommittedDepartmentChanges() throws Exception {
+        MockHttpServletResponse stream = openStream(null);
+
+        createDepartment("Streaming");
+
+        String content = awaitContent(stream, "Streaming");
+        assertTrue(content.contains("event:change"));
+        assertTrue(content.contains("\"type\":\"DEPARTMENT_CREATED\""));
+        assertTrue(content.contains("\"payload\":{"), "payload is embedded as JSON, not as a string");
+    }
+
+    @Test
+    void stream_ResumesAfterLastEventId() throws Exception {
+        createDepartment("Before Disconnect");
+        deliverChanges();
+        long lastSeen = changeLogRepository.findLastId();
+        createDepartment("Missed One");
+        createDepartment("Missed Two");
+        deliverChanges();
+
+        MockHttpServletResponse stream = openStream(lastSeen);
+
+        String content = awaitContent(stream, "Missed Two");
+        assertTrue(content.contains("Missed One"));
+        assertFalse(content.contains("Before Disconnect"));
+        assertTrue(content.contains("id:" + (lastSeen + 1)));
+    }
+
+    @Test
+    void stream_ResumingFromPrunedChangesGetsReset() throws Exception {
+        createDepartment("Pruned Soon");
+        deliverChanges();
+        changeLogRepository.deleteAllInBatch();
+        createDepartment("After Prune");
+        deliverChanges();
+
+        String content = awaitContent(openStream(0L), "event:reset");
+        assertFalse(content.contains("Pruned Soon"));
+    }
+
+    @Test
+    void stream_RequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/changes/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletResponse openStream(Long lastEventId) throws Exception {
+        var builder = get("/api/changes/stream").with(httpBasic("user", "user123")).accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private void createDepartment(String name) throws Exception {
+        mockMvc.perform(post("/api/departments").with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    /**
+     * Waits for the scheduled relay to move the outbox into the change log.
+     */
+    private void deliverChanges() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (outboxEventRepository.count() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(expected), "stream never contained " + expected + ": " + content);
+        return content;
+    }
+}
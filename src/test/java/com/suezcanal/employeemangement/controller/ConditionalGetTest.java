@@ -0,0 +1,74 @@
+package com.suezcanal.employeemangement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:conditional-get-test", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void departments_NotModifiedUntilADepartmentIsWritten() throws Exception {
+        String etag = etagOf("/api/departments");
+
+        mockMvc.perform(get("/api/departments").with(httpBasic("user", "user123")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/departments").with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Legal\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/departments").with(httpBasic("user", "user123")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertNotEquals(etag, etagOf("/api/departments"));
+    }
+
+    @Test
+    void employee_NotModifiedUntilItOrItsDepartmentChanges() throws Exception {
+        String etag = etagOf("/api/employees/1");
+
+        mockMvc.perform(get("/api/employees/1").with(httpBasic("user", "user123")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/departments/1").with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Information Technology\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/employees/1").with(httpBasic("user", "user123")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Information Technology")));
+    }
+
+    @Test
+    void employee_UnknownIdIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/employees/999999").with(httpBasic("user", "user123")).header(HttpHeaders.IF_NONE_MATCH, "\"0.0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    private String etagOf(String uri) throws Exception {
+        return mockMvc.perform(get(uri).with(httpBasic("user", "user123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,86 @@
+package com.suezcanal.employeemangement.controller;
+
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.service.DepartmentService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:conditional-update-test", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class ConditionalUpdateTest {
+
+    private static final String EMPLOYEE_2 = """
+            {"firstName": "Bahaa", "lastName": "Assal", "email": "bahaa@gmail.com", "salary": 6500.0,
+             "phoneNumber": "01023456567", "hireDate": "2024-01-01", "dateOfBirth": "1992-02-02",
+             "department": {"name": "HR"}}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Test
+    void putEmployee_OnlyWhileIfMatchIsCurrent() throws Exception {
+        String etag = mockMvc.perform(get("/api/employees/2").with(httpBasic("user", "user123")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/employees/2").with(httpBasic("admin", "admin123")).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(EMPLOYEE_2))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/employees/2").with(httpBasic("admin", "admin123")).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(EMPLOYEE_2))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void putDepartment_WithoutIfMatchStillApplies() throws Exception {
+        mockMvc.perform(put("/api/departments/4").with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Ops\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleEntity_IsRejectedAtFlush() {
+        assertThrows(OptimisticLockingFailureException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            Department stale = entityManager.find(Department.class, 5L);
+            Thread concurrentWriter = Thread.ofPlatform().start(() -> {
+                DepartmentDTO rename = new DepartmentDTO();
+                rename.setName("Growth");
+                departmentService.updateDepartment(5L, rename, null);
+            });
+            join(concurrentWriter);
+
+            stale.setName("Brand");
+        }));
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
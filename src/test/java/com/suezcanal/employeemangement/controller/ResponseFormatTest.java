@@ -0,0 +1,133 @@
+package com.suezcanal.employeemangement.controller;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.suezcanal.employeemangement.proto.DepartmentList;
+import com.suezcanal.employeemangement.proto.Employee;
+import com.suezcanal.employeemangement.proto.EmployeePage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:response-format-test", "spring.jpa.show-sql=false",
+        "server.compression.min-response-size=256"})
+@AutoConfigureMockMvc
+class ResponseFormatTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void employees_JsonUnlessAnotherFormatIsAsked() throws Exception {
+        mockMvc.perform(get("/api/employees").with(httpBasic("user", "user123")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void employees_CborAndSmileCarryTheSameTreeAsJson() throws Exception {
+        JsonNode json = objectMapper.readTree(fetch("/api/employees?size=3", MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray());
+
+        JsonNode cbor = new ObjectMapper(new CBORFactory()).readTree(fetch("/api/employees?size=3", CBOR).getResponse().getContentAsByteArray());
+        JsonNode smile = new ObjectMapper(new SmileFactory()).readTree(fetch("/api/employees?size=3", SMILE).getResponse().getContentAsByteArray());
+
+        assertEquals(json.get("content"), cbor.get("content"));
+        assertEquals(json.get("content"), smile.get("content"));
+        assertEquals(json.get("totalElements"), cbor.get("totalElements"));
+        assertTrue(cbor.get("content").get(0).get("hireDate").isTextual(), "dates are ISO strings as in JSON");
+    }
+
+    @Test
+    void employees_ProtobufPageMatchesJson() throws Exception {
+        JsonNode json = objectMapper.readTree(fetch("/api/employees?size=3", MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray());
+
+        MvcResult result = fetch("/api/employees?size=3", PROTOBUF);
+        EmployeePage page = EmployeePage.parseFrom(result.getResponse().getContentAsByteArray());
+
+        assertEquals(result.getResponse().getContentAsByteArray().length, result.getResponse().getContentLength());
+        assertEquals(json.get("totalElements").asLong(), page.getTotalElements());
+        assertEquals(3, page.getContentCount());
+        JsonNode first = json.get("content").get(0);
+        Employee employee = page.getContent(0);
+        assertEquals(first.get("id").asLong(), employee.getId());
+        assertEquals(first.get("email").asText(), employee.getEmail());
+        assertEquals(LocalDate.parse(first.get("hireDate").asText()), LocalDate.ofEpochDay(employee.getHireDate()));
+        assertEquals(first.get("department").get("name").asText(), employee.getDepartment().getName());
+    }
+
+    @Test
+    void departments_ProtobufList() throws Exception {
+        DepartmentList departments = DepartmentList.parseFrom(fetch("/api/departments", PROTOBUF).getResponse().getContentAsByteArray());
+
+        assertTrue(departments.getDepartmentsList().stream().anyMatch(department -> department.getName().equals("IT")));
+    }
+
+    @Test
+    void protobuf_NotAcceptableForTypesOutsideTheSchema() throws Exception {
+        mockMvc.perform(get("/api/employees/suggest?q=j").with(httpBasic("user", "user123")).accept(PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void brotli_CompressesResponsesAboveTheThreshold() throws Exception {
+        Brotli4jLoader.ensureAvailability();
+        byte[] plain = fetch("/api/employees?size=4", MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray();
+        assertTrue(plain.length >= 256);
+
+        MvcResult result = mockMvc.perform(get("/api/employees?size=4").with(httpBasic("user", "user123"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andReturn();
+
+        DirectDecompress decompressed = Decoder.decompress(result.getResponse().getContentAsByteArray());
+        assertEquals(DecoderJNI.Status.DONE, decompressed.getResultStatus());
+        assertArrayEquals(plain, decompressed.getDecompressedData());
+        assertTrue(result.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void brotli_LeavesSmallResponsesUncompressed() throws Exception {
+        mockMvc.perform(get("/api/departments/1").with(httpBasic("user", "user123")).header(HttpHeaders.ACCEPT_ENCODING, "br"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("\"name\"")));
+    }
+
+    private MvcResult fetch(String uri, MediaType accept) throws Exception {
+        return mockMvc.perform(get(uri).with(httpBasic("user", "user123")).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn();
+    }
+}
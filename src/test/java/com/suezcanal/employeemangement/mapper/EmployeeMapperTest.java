@@ -0,0 +1,99 @@
+package com.suezcanal.employeemangement.mapper;
+
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeMapperTest {
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl(new DepartmentMapperImpl());
+
+    private Employee employee;
+    private EmployeeDTO employeeDTO;
+
+    @BeforeEach
+    void setUp() {
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("IT");
+
+        employee = new Employee();
+        employee.setId(7L);
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("john@example.com");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+        employee.setPhoneNumber("01023456567");
+        employee.setSalary(5000.0);
+        employee.setDepartment(department);
+
+        DepartmentDTO departmentDTO = new DepartmentDTO();
+        departmentDTO.setId(99L);
+        departmentDTO.setName("HR");
+
+        employeeDTO = new EmployeeDTO();
+        employeeDTO.setId(42L);
+        employeeDTO.setFirstName("Jane");
+        employeeDTO.setLastName("Roe");
+        employeeDTO.setEmail("jane@example.com");
+        employeeDTO.setDateOfBirth(LocalDate.of(1991, 2, 2));
+        employeeDTO.setHireDate(LocalDate.of(2021, 2, 2));
+        employeeDTO.setSalary(6000.0);
+        employeeDTO.setDepartment(departmentDTO);
+    }
+
+    @Test
+    void toDTO_CopiesAllFieldsAndDepartment() {
+        EmployeeDTO dto = employeeMapper.toDTO(employee);
+
+        assertEquals(7L, dto.getId());
+        assertEquals("John", dto.getFirstName());
+        assertEquals("Doe", dto.getLastName());
+        assertEquals("john@example.com", dto.getEmail());
+        assertEquals(LocalDate.of(1990, 1, 1), dto.getDateOfBirth());
+        assertEquals(LocalDate.of(2020, 1, 1), dto.getHireDate());
+        assertEquals("01023456567", dto.getPhoneNumber());
+        assertEquals(5000.0, dto.getSalary());
+        assertEquals(1L, dto.getDepartment().getId());
+        assertEquals("IT", dto.getDepartment().getName());
+    }
+
+    @Test
+    void toDTO_WithoutDepartment_LeavesDepartmentNull() {
+        employee.setDepartment(null);
+
+        assertNull(employeeMapper.toDTO(employee).getDepartment());
+    }
+
+    @Test
+    void toEntity_IgnoresIdAndDepartment() {
+        Employee entity = employeeMapper.toEntity(employeeDTO);
+
+        assertNull(entity.getId());
+        assertNull(entity.getDepartment());
+        assertEquals("Jane", entity.getFirstName());
+        assertEquals("jane@example.com", entity.getEmail());
+        assertEquals(6000.0, entity.getSalary());
+    }
+
+    @Test
+    void updateEntity_KeepsIdAndDepartmentAndOverwritesTheRest() {
+        Department department = employee.getDepartment();
+
+        employeeMapper.updateEntity(employeeDTO, employee);
+
+        assertEquals(7L, employee.getId());
+        assertSame(department, employee.getDepartment());
+        assertEquals("Jane", employee.getFirstName());
+        assertEquals(LocalDate.of(2021, 2, 2), employee.getHireDate());
+        assertNull(employee.getPhoneNumber());
+    }
+}
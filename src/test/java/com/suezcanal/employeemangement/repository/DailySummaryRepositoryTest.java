@@ -0,0 +1,163 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.configuration.SecondLevelCacheConfig;
+import com.suezcanal.employeemangement.dto.HeadcountBucket;
+import com.suezcanal.employeemangement.dto.HeadcountPoint;
+import com.suezcanal.employeemangement.model.DailySummary;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.SummaryResolution;
+import com.suezcanal.employeemangement.service.DepartmentCache;
+import com.suezcanal.employeemangement.service.DepartmentSummaryService;
+import com.suezcanal.employeemangement.service.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({DepartmentSummaryService.class, DepartmentCache.class, OutboxService.class, SecondLevelCacheConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class DailySummaryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private DepartmentSummaryService departmentSummaryService;
+
+    @Autowired
+    private DepartmentCache departmentCache;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Long departmentId;
+
+    /**
+     * One daily row per day of January to April 2024 whose headcount is the day of the month, plus one row of
+     * another department on each day.
+     */
+    @BeforeEach
+    void setUp() {
+        departmentCache.invalidateAll();
+        Department department = persistDepartment("History");
+        Department other = persistDepartment("Other");
+        departmentId = department.getId();
+        for (LocalDate day = LocalDate.of(2024, 1, 1); day.isBefore(LocalDate.of(2024, 5, 1)); day = day.plusDays(1)) {
+            persistSummary(department, day, day.getDayOfMonth());
+            persistSummary(other, day, 1000);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findHeadcountHistory_DownsamplesByMonth() {
+        List<HeadcountPoint> points = departmentSummaryService.getHeadcountHistory(
+                departmentId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29), HeadcountBucket.MONTH);
+
+        assertEquals(List.of(
+                new HeadcountPoint(LocalDate.of(2024, 1, 1), 16.0, 1, 31, 31),
+                new HeadcountPoint(LocalDate.of(2024, 2, 1), 15.0, 1, 29, 29)), points);
+    }
+
+    @Test
+    void findHeadcountHistory_DownsamplesByIsoWeekWithinRange() {
+        List<HeadcountPoint> points = departmentSummaryService.getHeadcountHistory(
+                departmentId, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 14), HeadcountBucket.WEEK);
+
+        assertEquals(List.of(
+                new HeadcountPoint(LocalDate.of(2024, 1, 1), 5.0, 3, 7, 5),
+                new HeadcountPoint(LocalDate.of(2024, 1, 8), 11.0, 8, 14, 7)), points);
+    }
+
+    @Test
+    void rollUpDailySummaries_ReplacesOldDailyRowsWithMonthlyRowsKeepingAggregates() {
+        List<HeadcountPoint> before = departmentSummaryService.getHeadcountHistory(
+                departmentId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30), HeadcountBucket.MONTH);
+
+        int removed = departmentSummaryService.rollUpDailySummaries(LocalDate.of(2024, 3, 15));
+        entityManager.clear();
+
+        assertEquals(2 * (31 + 29), removed);
+        assertEquals(2 * (2 + 31 + 30), dailySummaryRepository.count());
+        assertEquals(before, departmentSummaryService.getHeadcountHistory(
+                departmentId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30), HeadcountBucket.MONTH));
+
+        List<HeadcountPoint> januaryByDay = departmentSummaryService.getHeadcountHistory(
+                departmentId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), HeadcountBucket.DAY);
+        assertEquals(List.of(new HeadcountPoint(LocalDate.of(2024, 1, 1), 16.0, 1, 31, 31)), januaryByDay);
+        List<SummaryResolution> februaryRows = dailySummaryRepository.findAll().stream()
+                .filter(summary -> summary.getTimestamp().toLocalDate().getMonthValue() == 2)
+                .map(DailySummary::getResolution)
+                .toList();
+        assertEquals(List.of(SummaryResolution.MONTH, SummaryResolution.MONTH), februaryRows);
+    }
+
+    @Test
+    void rollUpDailySummaries_FractionalMonthlyMeanIsKeptExactly() {
+        Department department = persistDepartment("Fractional");
+        // 10 days at 3 and 21 days at 2: a January mean of 72 / 31
+        for (LocalDate day = LocalDate.of(2024, 1, 1); day.getMonthValue() == 1; day = day.plusDays(1)) {
+            persistSummary(department, day, day.getDayOfMonth() <= 10 ? 3 : 2);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<HeadcountPoint> before = departmentSummaryService.getHeadcountHistory(
+                department.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), HeadcountBucket.MONTH);
+
+        departmentSummaryService.rollUpDailySummaries(LocalDate.of(2024, 2, 1));
+        entityManager.clear();
+
+        assertEquals(List.of(new HeadcountPoint(LocalDate.of(2024, 1, 1), 72.0 / 31, 2, 3, 31)), before);
+        assertEquals(before, departmentSummaryService.getHeadcountHistory(
+                department.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), HeadcountBucket.MONTH));
+        assertEquals(before, departmentSummaryService.getHeadcountHistory(
+                department.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), HeadcountBucket.WEEK),
+                "a rolled-up month is one point whatever the bucket");
+    }
+
+    @Test
+    void rollUpDailySummaries_NothingOlderThanCutoff_RemovesNothing() {
+        assertEquals(0, departmentSummaryService.rollUpDailySummaries(LocalDate.of(2024, 1, 20)));
+        assertEquals(2 * (31 + 29 + 31 + 30), dailySummaryRepository.count());
+    }
+
+    @Test
+    void generateDailyDepartmentSummary_SnapshotsBecomeDailyRowsWhenRelayed() {
+        long rowsBefore = dailySummaryRepository.count();
+
+        // one partition at a time, so the run joins the test transaction and sees its departments
+        int recorded = departmentSummaryService.generateDailyDepartmentSummary(2, 1);
+        assertEquals(rowsBefore, dailySummaryRepository.count());
+        departmentSummaryService.accept(outboxEventRepository.findAll());
+        entityManager.flush();
+
+        assertEquals(rowsBefore + recorded, dailySummaryRepository.count());
+        assertEquals(List.of(0), departmentSummaryService.getHeadcountHistory(departmentId, LocalDate.now(), LocalDate.now(),
+                HeadcountBucket.DAY).stream().map(HeadcountPoint::maxEmployees).toList());
+    }
+
+    private Department persistDepartment(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return entityManager.persist(department);
+    }
+
+    private void persistSummary(Department department, LocalDate day, int employeeCount) {
+        entityManager.persist(new DailySummary(null, department, employeeCount, employeeCount, employeeCount, 1,
+                (long) employeeCount, SummaryResolution.DAY, day.atTime(9, 0)));
+    }
+}
@@ -0,0 +1,349 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.configuration.SecondLevelCacheConfig;
+import com.suezcanal.employeemangement.dto.BulkUpdateResult;
+import com.suezcanal.employeemangement.dto.CursorPage;
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.DepartmentTransferRequest;
+import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeSearchCriteria;
+import com.suezcanal.employeemangement.dto.SalaryAdjustmentRequest;
+import com.suezcanal.employeemangement.dto.SalaryStats;
+import com.suezcanal.employeemangement.mapper.DepartmentMapperImpl;
+import com.suezcanal.employeemangement.mapper.EmployeeMapperImpl;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.Employee;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.service.DepartmentCache;
+import com.suezcanal.employeemangement.service.EmployeeEmailFilter;
+import com.suezcanal.employeemangement.service.EmployeeService;
+import com.suezcanal.employeemangement.service.EmployeeSuggestionIndex;
+import com.suezcanal.employeemangement.service.OutboxService;
+import com.suezcanal.employeemangement.service.SalaryStatsService;
+import com.suezcanal.employeemangement.service.TableChangeCounter;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EmployeeService.class, DepartmentCache.class, EmployeeSuggestionIndex.class, SalaryStatsService.class, TableChangeCounter.class, EmployeeEmailFilter.class, OutboxService.class, EmployeeMapperImpl.class, DepartmentMapperImpl.class, SecondLevelCacheConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EmployeeRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentCache departmentCache;
+
+    @Autowired
+    private SalaryStatsService salaryStatsService;
+
+    @Autowired
+    private EmployeeEmailFilter emailFilter;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Statistics statistics;
+    private Long firstEmployeeId;
+    private Long firstDepartmentId;
+    private Long secondDepartmentId;
+
+    @BeforeEach
+    void setUp() {
+        departmentCache.invalidateAll();
+        for (int d = 0; d < 3; d++) {
+            Department department = new Department();
+            department.setName("Department " + d);
+            entityManager.persist(department);
+            if (d == 0) {
+                firstDepartmentId = department.getId();
+            }
+            if (d == 1) {
+                secondDepartmentId = department.getId();
+            }
+            for (int i = 0; i < 10; i++) {
+                Employee employee = new Employee();
+                employee.setFirstName("First" + d + i);
+                employee.setLastName("Last" + d + i);
+                employee.setEmail("employee" + d + i + "@example.com");
+                employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+                employee.setHireDate(LocalDate.of(2020, 1, 1).plusMonths(i));
+                employee.setPhoneNumber("01023456567");
+                employee.setSalary(5000.0 + i * 100);
+                employee.setDepartment(department);
+                entityManager.persist(employee);
+                if (firstEmployeeId == null) {
+                    firstEmployeeId = employee.getId();
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllEmployees_UsesOneSelectPlusCount() {
+        Page<EmployeeDTO> page = employeeService.getAllEmployees(PageRequest.of(0, 25, Sort.by("lastName")));
+
+        assertEquals(25, page.getContent().size());
+        assertEquals(30, page.getTotalElements());
+        assertNotNull(page.getContent().getFirst().getDepartment().getName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getEmployeeById_UsesOneSelect() {
+        EmployeeDTO employee = employeeService.getEmployeeById(firstEmployeeId);
+
+        assertEquals("Department 0", employee.getDepartment().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getEmployeesAfter_UsesOneSelect() {
+        CursorPage<EmployeeDTO> page = employeeService.getEmployeesAfter("", 20);
+
+        assertEquals(20, page.content().size());
+        assertNotNull(page.nextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void searchEmployees_CombinedFilters_UsesOneSelectPlusCount() {
+        departmentCache.findAll();
+        statistics.clear();
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria(secondDepartmentId, null, 5200.0, 5800.0,
+                LocalDate.of(2020, 3, 1), LocalDate.of(2020, 6, 1), null);
+
+        Page<EmployeeDTO> page = employeeService.searchEmployees(criteria, PageRequest.of(0, 2, Sort.by("salary")));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of(5200.0, 5300.0), page.getContent().stream().map(EmployeeDTO::getSalary).toList());
+        assertEquals("Department 1", page.getContent().getFirst().getDepartment().getName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void searchEmployees_LastNamePrefix() {
+        Page<EmployeeDTO> page = employeeService.searchEmployees(
+                new EmployeeSearchCriteria(null, null, null, null, null, null, "Last2"), PageRequest.of(0, 20));
+
+        assertEquals(10, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(employee -> employee.getLastName().startsWith("Last2")));
+    }
+
+    @Test
+    void searchEmployees_LikeWildcardsInPrefixAreLiteral() {
+        Page<EmployeeDTO> page = employeeService.searchEmployees(
+                new EmployeeSearchCriteria(null, null, null, null, null, null, "L%"), PageRequest.of(0, 20));
+
+        assertEquals(0, page.getTotalElements());
+    }
+
+    @Test
+    void searchEmployees_DepartmentNameIsResolvedCaseInsensitively() {
+        Page<EmployeeDTO> page = employeeService.searchEmployees(
+                new EmployeeSearchCriteria(null, "department 1", null, 5400.0, null, null, null), PageRequest.of(0, 20));
+
+        assertEquals(5, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(employee -> employee.getDepartment().getId().equals(secondDepartmentId)));
+    }
+
+    @Test
+    void searchEmployees_NoFilters_SortedByIdByDefault() {
+        Page<EmployeeDTO> page = employeeService.searchEmployees(
+                new EmployeeSearchCriteria(null, null, null, null, null, null, null), PageRequest.of(1, 10));
+
+        assertEquals(30, page.getTotalElements());
+        assertEquals(firstEmployeeId + 10, page.getContent().getFirst().getId());
+    }
+
+    @Test
+    void getDepartmentSalaryStats_StreamsSalariesWithoutLoadingEntities() {
+        departmentCache.findAll();
+        salaryStatsService.invalidate(List.of(secondDepartmentId));
+        statistics.clear();
+
+        SalaryStats stats = salaryStatsService.getDepartmentSalaryStats(secondDepartmentId);
+
+        assertEquals(new SalaryStats(secondDepartmentId, 10, 5000.0, 5900.0, 5450.0, 5400.0, 5800.0, 5900.0), stats);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void createEmployee_EmailRuledOutByFilterSkipsDuplicateQuery() {
+        emailFilter.load();
+        departmentCache.findAll();
+        statistics.clear();
+
+        employeeService.createEmployee(newEmployee("new@example.com"));
+
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertTrue(emailFilter.mightContain("new@example.com"));
+    }
+
+    @Test
+    void mutations_RecordOutboxEventsInTheirTransaction() {
+        departmentCache.findAll();
+
+        EmployeeDTO created = employeeService.createEmployee(newEmployee("outbox@example.com"));
+        employeeService.adjustSalaries(new SalaryAdjustmentRequest(firstDepartmentId, 5.0));
+        employeeService.deleteEmployees(List.of(-1L));
+
+        List<OutboxEvent> events = outboxEventRepository.findAll(Sort.by("id"));
+        assertEquals(List.of(OutboxEventType.EMPLOYEE_CREATED, OutboxEventType.SALARIES_ADJUSTED),
+                events.stream().map(OutboxEvent::getType).toList());
+        assertEquals(created.getId(), events.get(0).getAggregateId());
+        assertTrue(events.get(0).getPayload().contains("\"email\":\"outbox@example.com\""));
+        assertEquals(firstDepartmentId, events.get(1).getAggregateId());
+        assertTrue(events.get(1).getPayload().contains("\"affected\":11"));
+    }
+
+    @Test
+    void createEmployee_DuplicateMissedByFilterIsRejectedByConstraint() {
+        emailFilter.load();
+        Employee unseen = new Employee();
+        unseen.setFirstName("Unseen");
+        unseen.setLastName("Writer");
+        unseen.setEmail("unseen@example.com");
+        unseen.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        unseen.setHireDate(LocalDate.of(2020, 1, 1));
+        unseen.setSalary(5000.0);
+        unseen.setDepartment(entityManager.find(Department.class, firstDepartmentId));
+        entityManager.persistAndFlush(unseen);
+        assertFalse(emailFilter.mightContain("unseen@example.com"));
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> employeeService.createEmployee(newEmployee("unseen@example.com")));
+        assertEquals("Email already exists: unseen@example.com", e.getMessage());
+    }
+
+    @Test
+    void getEmployeeETag_ReadsVersionsWithoutLoadingEntities() {
+        assertEquals("\"0.0\"", employeeService.getEmployeeETag(firstEmployeeId));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertThrows(EntityNotFoundException.class, () -> employeeService.getEmployeeETag(-1L));
+    }
+
+    @Test
+    void bulkUpdates_IncrementVersions() {
+        departmentCache.findAll();
+        employeeService.adjustSalaries(new SalaryAdjustmentRequest(firstDepartmentId, 10.0));
+        employeeService.transferEmployees(new DepartmentTransferRequest(
+                new EmployeeSearchCriteria(firstDepartmentId, null, 5900.0, null, null, null, null), secondDepartmentId));
+
+        assertEquals(1L, entityManager.find(Employee.class, firstEmployeeId).getVersion());
+        assertEquals(2L, entityManager.find(Employee.class, firstEmployeeId + 9).getVersion());
+        assertEquals("\"1.0\"", employeeService.getEmployeeETag(firstEmployeeId));
+    }
+
+    @Test
+    void adjustSalaries_OneUpdateAndManagedEntitiesSeeNewSalaries() {
+        departmentCache.findAll();
+        Employee managed = entityManager.find(Employee.class, firstEmployeeId);
+        statistics.clear();
+
+        BulkUpdateResult result = employeeService.adjustSalaries(new SalaryAdjustmentRequest(firstDepartmentId, 10.0));
+
+        assertEquals(10, result.affected());
+        // the update plus the outbox insert
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFalse(entityManager.getEntityManager().contains(managed));
+        assertEquals(5500.0, entityManager.find(Employee.class, firstEmployeeId).getSalary());
+        assertEquals(5000.0 * 1.1 + 990.0, entityManager.find(Employee.class, firstEmployeeId + 9).getSalary(), 0.001);
+    }
+
+    @Test
+    void transferEmployees_FlushesPendingChangesAndMovesMatchingEmployees() {
+        departmentCache.findAll();
+        Employee pending = entityManager.find(Employee.class, firstEmployeeId + 9);
+        pending.setFirstName("Renamed");
+        statistics.clear();
+
+        BulkUpdateResult result = employeeService.transferEmployees(new DepartmentTransferRequest(
+                new EmployeeSearchCriteria(firstDepartmentId, null, 5800.0, null, null, null, null), secondDepartmentId));
+
+        assertEquals(2, result.affected());
+        // the flush of the pending rename, the update and the outbox insert
+        assertEquals(3, statistics.getPrepareStatementCount());
+        Employee moved = entityManager.find(Employee.class, firstEmployeeId + 9);
+        assertEquals("Renamed", moved.getFirstName());
+        assertEquals(secondDepartmentId, moved.getDepartment().getId());
+        assertEquals(12, employeeService.searchEmployees(new EmployeeSearchCriteria(secondDepartmentId, null, null, null,
+                null, null, null), PageRequest.of(0, 20)).getTotalElements());
+    }
+
+    @Test
+    void transferEmployees_EmployeesAlreadyInTargetAreNotCounted() {
+        departmentCache.findAll();
+
+        BulkUpdateResult result = employeeService.transferEmployees(new DepartmentTransferRequest(
+                new EmployeeSearchCriteria(null, null, 5900.0, null, null, null, null), secondDepartmentId));
+
+        assertEquals(2, result.affected());
+    }
+
+    @Test
+    void deleteEmployees_OneDeleteIgnoringUnknownIds() {
+        entityManager.find(Employee.class, firstEmployeeId);
+        statistics.clear();
+
+        BulkUpdateResult result = employeeService.deleteEmployees(List.of(firstEmployeeId, firstEmployeeId + 1, -1L));
+
+        assertEquals(2, result.affected());
+        // the delete plus the outbox insert
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertNull(entityManager.find(Employee.class, firstEmployeeId));
+        assertEquals(28, employeeService.getAllEmployees(PageRequest.of(0, 1)).getTotalElements());
+    }
+
+    private static EmployeeDTO newEmployee(String email) {
+        DepartmentDTO department = new DepartmentDTO();
+        department.setName("Department 0");
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setFirstName("New");
+        employee.setLastName("Hire");
+        employee.setEmail(email);
+        employee.setDateOfBirth(LocalDate.of(1995, 5, 5));
+        employee.setHireDate(LocalDate.of(2024, 1, 1));
+        employee.setSalary(6000.0);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
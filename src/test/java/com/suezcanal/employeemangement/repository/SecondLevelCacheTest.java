@@ -0,0 +1,116 @@
+package com.suezcanal.employeemangement.repository;
+
+import com.suezcanal.employeemangement.configuration.SecondLevelCacheConfig;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long departmentId;
+
+    @BeforeEach
+    void setUp() {
+        Department department = new Department();
+        department.setName("IT");
+        departmentId = departmentRepository.save(department).getId();
+
+        User user = new User();
+        user.setUsername("admin");
+        user.setPassword("secret");
+        user.setRole("ADMIN");
+        userRepository.save(user);
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        departmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_RepeatLookupIssuesNoSql() {
+        departmentRepository.findById(departmentId).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals("IT", departmentRepository.findById(departmentId).orElseThrow().getName());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByName_RepeatLookupIssuesNoSql() {
+        departmentRepository.findByName("IT").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(departmentId, departmentRepository.findByName("IT").orElseThrow().getId());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void existsByNameIgnoreCase_RepeatLookupIssuesNoSql() {
+        assertTrue(departmentRepository.existsByNameIgnoreCase("it"));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(departmentRepository.existsByNameIgnoreCase("it"));
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findByUsername_RepeatLookupIssuesNoSql() {
+        userRepository.findByUsername("admin").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals("ADMIN", userRepository.findByUsername("admin").orElseThrow().getRole());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findByName_WriteToDepartmentsInvalidatesCachedQuery() {
+        departmentRepository.findByName("IT").orElseThrow();
+
+        Department department = departmentRepository.findById(departmentId).orElseThrow();
+        department.setName("Engineering");
+        departmentRepository.save(department);
+
+        assertTrue(departmentRepository.findByName("IT").isEmpty());
+        assertEquals("Engineering", departmentRepository.findById(departmentId).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,111 @@
+package com.suezcanal.employeemangement.scheduler;
+
+import com.suezcanal.employeemangement.EmployeeApplication;
+import com.suezcanal.employeemangement.repository.DailySummaryRepository;
+import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import com.suezcanal.employeemangement.repository.OutboxEventRepository;
+import com.suezcanal.employeemangement.service.JobLockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application instances sharing one file-backed H2 database, as two nodes behind a load balancer would.
+ */
+class ClusterSchedulingTest {
+
+    @TempDir
+    static Path databaseDir;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void dailySummary_FiredOnBothNodesRunsOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<Void> runA = CompletableFuture.runAsync(() -> fire(nodeA, start));
+        CompletableFuture<Void> runB = CompletableFuture.runAsync(() -> fire(nodeB, start));
+        start.countDown();
+        CompletableFuture.allOf(runA, runB).get();
+
+        assertEquals(1.0, lockCount("acquired"));
+        assertEquals(1.0, lockCount("skipped"));
+
+        OutboxEventRepository outbox = nodeA.getBean(OutboxEventRepository.class);
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (outbox.count() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, outbox.count());
+        assertEquals(nodeA.getBean(DepartmentRepository.class).count(), nodeA.getBean(DailySummaryRepository.class).count());
+    }
+
+    @Test
+    void jobLock_IsExclusiveAcrossNodesUntilReleased() {
+        JobLockService lockA = nodeA.getBean(JobLockService.class);
+        JobLockService lockB = nodeB.getBean(JobLockService.class);
+        AtomicBoolean ranOnB = new AtomicBoolean();
+
+        assertTrue(lockA.runLocked("cluster-test", Duration.ofMinutes(1), Duration.ZERO,
+                () -> assertFalse(lockB.runLocked("cluster-test", Duration.ofMinutes(1), Duration.ZERO, () -> ranOnB.set(true)))));
+        assertFalse(ranOnB.get());
+
+        assertTrue(lockB.runLocked("cluster-test", Duration.ofMinutes(1), Duration.ofMinutes(1), () -> ranOnB.set(true)));
+        assertTrue(ranOnB.get());
+        assertFalse(lockA.runLocked("cluster-test", Duration.ofMinutes(1), Duration.ZERO, () -> fail("lockAtLeastFor not honoured")));
+    }
+
+    private static ConfigurableApplicationContext startNode(String instanceId) {
+        return new SpringApplicationBuilder(EmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:file:" + databaseDir.resolve("cluster").toAbsolutePath(),
+                        "scheduler.lock.instance-id=" + instanceId,
+                        "summaries.partition-size=2")
+                .run();
+    }
+
+    private static void fire(ConfigurableApplicationContext node, CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        node.getBean(SummaryScheduler.class).generateDailySummary();
+    }
+
+    private static double lockCount(String outcome) {
+        return List.of(nodeA, nodeB).stream()
+                .map(node -> node.getBean(MeterRegistry.class).find("app.scheduler.lock")
+                        .tag("job", "daily-summary").tag("outcome", outcome).counter())
+                .mapToDouble(counter -> counter == null ? 0 : counter.count())
+                .sum();
+    }
+}
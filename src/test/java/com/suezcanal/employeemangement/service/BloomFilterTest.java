@@ -0,0 +1,35 @@
+package com.suezcanal.employeemangement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void addedKeys_AreAlwaysReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("employee" + i + "@example.com"));
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("employee" + i + "@example.com")));
+        assertEquals(10_000, filter.insertions());
+    }
+
+    @Test
+    void falsePositiveRate_StaysNearTheConfiguredRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("employee" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("other" + i + "@example.com")).count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void emptyFilter_ContainsNothing() {
+        assertFalse(new BloomFilter(100, 0.01).mightContain("a@example.com"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.configuration.ChangeFeedProperties;
+import com.suezcanal.employeemangement.dto.ChangeEvent;
+import com.suezcanal.employeemangement.exception.SubscriberLimitExceededException;
+import com.suezcanal.employeemangement.model.ChangeLogEntry;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.ChangeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        ChangeFeedProperties properties = new ChangeFeedProperties(2, 4, 2, 3, Duration.ofHours(1), Duration.ofMinutes(1));
+        changeFeed = new ChangeFeed(changeLogRepository, eventPublisher, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void offer_FullBufferCoalescesChangesToTheSameEmployee() {
+        ChangeFeed.Subscriber subscriber = new ChangeFeed.Subscriber(new SseEmitter(), 2);
+
+        assertEquals(ChangeFeed.Offer.QUEUED, subscriber.offer(event(1, OutboxEventType.EMPLOYEE_UPDATED, 7L)));
+        assertEquals(ChangeFeed.Offer.QUEUED, subscriber.offer(event(2, OutboxEventType.DEPARTMENT_UPDATED, 7L)));
+        assertEquals(ChangeFeed.Offer.COALESCED, subscriber.offer(event(3, OutboxEventType.EMPLOYEE_DELETED, 7L)));
+
+        assertEquals("change 2 | change 3", describe(subscriber.takePending()));
+        assertFalse(subscriber.hasPending());
+    }
+
+    @Test
+    void offer_FullBufferWithoutAMatchDropsItAndSendsReset() {
+        ChangeFeed.Subscriber subscriber = new ChangeFeed.Subscriber(new SseEmitter(), 2);
+        subscriber.offer(event(1, OutboxEventType.EMPLOYEE_UPDATED, 7L));
+        subscriber.offer(event(2, OutboxEventType.EMPLOYEE_UPDATED, 8L));
+
+        assertEquals(ChangeFeed.Offer.DROPPED, subscriber.offer(event(3, OutboxEventType.SALARIES_ADJUSTED, null)));
+
+        assertEquals("reset | change 3", describe(subscriber.takePending()));
+    }
+
+    @Test
+    void poll_PublishesNewChangesInOrderUntilCaughtUp() {
+        when(changeLogRepository.findLastId()).thenReturn(10L);
+        when(changeLogRepository.findAfter(eq(10L), any(Limit.class))).thenReturn(List.of(entry(11), entry(12)));
+        when(changeLogRepository.findAfter(eq(12L), any(Limit.class))).thenReturn(List.of(entry(13)));
+        changeFeed.start();
+
+        changeFeed.poll();
+
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof ChangeEvent c && c.sequence() == 11));
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof ChangeEvent c && c.sequence() == 13));
+        verify(changeLogRepository, times(2)).findAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void poll_DoesNothingBeforeStart() {
+        changeFeed.poll();
+
+        verifyNoInteractions(changeLogRepository, eventPublisher);
+    }
+
+    @Test
+    void subscribe_ResumingBeyondRetentionOrReplayLimitGetsReset() {
+        when(changeLogRepository.findLastId()).thenReturn(20L);
+        when(changeLogRepository.findFirstId()).thenReturn(10L);
+        when(changeLogRepository.countBetween(15L, 20L)).thenReturn(5L);
+
+        ChangeFeed.Subscriber expired = changeFeed.register(5L);
+        ChangeFeed.Subscriber tooFarBehind = changeFeed.register(15L);
+
+        assertEquals("reset", describe(changeFeed.nextBatch(expired)));
+        assertEquals("reset", describe(changeFeed.nextBatch(tooFarBehind)));
+        assertFalse(expired.hasPending());
+        verify(changeLogRepository, never()).findBetween(anyLong(), anyLong(), any(Limit.class));
+        assertEquals(2, changeFeed.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_ReplaysMissedChangesOneBufferAtATimeBeforeLiveOnes() {
+        ChangeFeed feed = new ChangeFeed(changeLogRepository, eventPublisher,
+                new ChangeFeedProperties(2, 2, 2, 10, Duration.ofHours(1), Duration.ofMinutes(1)));
+        when(changeLogRepository.findLastId()).thenReturn(20L);
+        when(changeLogRepository.findFirstId()).thenReturn(10L);
+        when(changeLogRepository.countBetween(14L, 20L)).thenReturn(6L);
+        when(changeLogRepository.findBetween(14L, 20L, Limit.of(2))).thenReturn(List.of(entry(15), entry(16)));
+        when(changeLogRepository.findBetween(16L, 20L, Limit.of(2))).thenReturn(List.of(entry(17), entry(18)));
+        when(changeLogRepository.findBetween(18L, 20L, Limit.of(2))).thenReturn(List.of(entry(19), entry(20)));
+        try {
+            ChangeFeed.Subscriber subscriber = feed.register(14L);
+            subscriber.offer(event(21, OutboxEventType.EMPLOYEE_UPDATED, 21L));
+
+            assertEquals("change 15 | change 16", describe(feed.nextBatch(subscriber)));
+            assertEquals("change 17 | change 18", describe(feed.nextBatch(subscriber)));
+            assertEquals("change 19 | change 20", describe(feed.nextBatch(subscriber)));
+            assertEquals("change 21", describe(feed.nextBatch(subscriber)));
+            assertFalse(subscriber.hasPending());
+        } finally {
+            feed.shutdown();
+        }
+    }
+
+    @Test
+    void subscribe_DroppingLiveChangesDuringReplayStopsTheReplay() {
+        when(changeLogRepository.findLastId()).thenReturn(20L);
+        when(changeLogRepository.findFirstId()).thenReturn(10L);
+        when(changeLogRepository.countBetween(18L, 20L)).thenReturn(2L);
+        ChangeFeed.Subscriber subscriber = changeFeed.register(18L);
+
+        for (long sequence = 21; sequence <= 25; sequence++) {
+            subscriber.offer(event(sequence, OutboxEventType.SALARIES_ADJUSTED, null));
+        }
+
+        assertEquals("reset | change 25", describe(changeFeed.nextBatch(subscriber)));
+        verify(changeLogRepository, never()).findBetween(anyLong(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void subscribe_RejectedAboveSubscriberLimit() {
+        when(changeLogRepository.findLastId()).thenReturn(0L);
+        changeFeed.subscribe(null);
+        changeFeed.subscribe(null);
+
+        assertThrows(SubscriberLimitExceededException.class, () -> changeFeed.subscribe(null));
+    }
+
+    private static ChangeEvent event(long sequence, OutboxEventType type, Long aggregateId) {
+        return new ChangeEvent(sequence, type, aggregateId, "{}", LocalDateTime.now());
+    }
+
+    private static ChangeLogEntry entry(long id) {
+        return new ChangeLogEntry(id, OutboxEventType.EMPLOYEE_UPDATED, id, "{}", LocalDateTime.now());
+    }
+
+    private static String describe(List<SseEmitter.SseEventBuilder> events) {
+        return events.stream()
+                .map(event -> event.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()))
+                .map(text -> text.contains("event:reset") ? "reset"
+                        : "change " + text.substring(text.indexOf("id:") + 3, text.indexOf('\n', text.indexOf("id:"))))
+                .collect(Collectors.joining(" | "));
+    }
+}
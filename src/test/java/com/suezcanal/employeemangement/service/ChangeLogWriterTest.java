@@ -0,0 +1,46 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.model.ChangeLogEntry;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.ChangeLogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeLogWriterTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @InjectMocks
+    private ChangeLogWriter changeLogWriter;
+
+    @Test
+    void accept_StampsChangesWithTheRelayTimeAndSkipsHeadcounts() {
+        LocalDateTime recordedAt = LocalDateTime.now().minusHours(2);
+        OutboxEvent change = new OutboxEvent(1L, OutboxEventType.EMPLOYEE_UPDATED, 7L, "{}", recordedAt, 0, recordedAt);
+        OutboxEvent headcount = new OutboxEvent(2L, OutboxEventType.HEADCOUNT_RECORDED, null, "[]", recordedAt, 0, recordedAt);
+        LocalDateTime before = LocalDateTime.now();
+
+        changeLogWriter.accept(List.of(change, headcount));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ChangeLogEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(changeLogRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        ChangeLogEntry entry = saved.getValue().getFirst();
+        assertEquals(7L, entry.getAggregateId());
+        assertFalse(entry.getCreatedAt().isBefore(before));
+    }
+}
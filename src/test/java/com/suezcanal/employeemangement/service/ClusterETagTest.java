@@ -0,0 +1,93 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.EmployeeApplication;
+import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.model.Department;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application instances sharing one file-backed H2 database, as two nodes behind a load balancer would.
+ */
+class ClusterETagTest {
+
+    @TempDir
+    static Path databaseDir;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void listETags_AgreeAcrossNodesAndMoveWithWritesOnEither() {
+        DepartmentService departmentsA = nodeA.getBean(DepartmentService.class);
+        DepartmentService departmentsB = nodeB.getBean(DepartmentService.class);
+        EmployeeService employeesA = nodeA.getBean(EmployeeService.class);
+        EmployeeService employeesB = nodeB.getBean(EmployeeService.class);
+        String departmentsETag = departmentsA.getDepartmentsETag();
+        String employeesETag = employeesA.getEmployeesETag();
+        departmentsA.getAllDepartments();
+        assertEquals(departmentsETag, departmentsB.getDepartmentsETag());
+        assertEquals(employeesETag, employeesB.getEmployeesETag());
+
+        Department department = new Department();
+        department.setName("Cluster");
+        departmentsB.createDepartment(department);
+
+        String moved = departmentsA.getDepartmentsETag();
+        assertNotEquals(departmentsETag, moved);
+        assertEquals(moved, departmentsB.getDepartmentsETag());
+        assertNotEquals(employeesETag, employeesA.getEmployeesETag(), "employee rows embed department names");
+        assertTrue(departmentsA.getAllDepartments().stream().map(DepartmentDTO::getName).anyMatch("Cluster"::equals),
+                "node A must not serve its cached list under the new tag");
+    }
+
+    @Test
+    void departmentETag_MovesWhenAnotherNodeRenamesTheDepartment() {
+        DepartmentService departmentsA = nodeA.getBean(DepartmentService.class);
+        DepartmentService departmentsB = nodeB.getBean(DepartmentService.class);
+        Department department = new Department();
+        department.setName("Before");
+        departmentsA.createDepartment(department);
+        Long id = department.getId();
+        String etag = departmentsA.getDepartmentETag(id);
+        assertEquals("Before", departmentsA.getDepartmentById(id).getName());
+
+        DepartmentDTO rename = new DepartmentDTO();
+        rename.setName("After");
+        departmentsB.updateDepartment(id, rename, null);
+
+        assertNotEquals(etag, departmentsA.getDepartmentETag(id));
+        assertEquals("After", departmentsA.getDepartmentById(id).getName(),
+                "node A must not serve its cached department under the new tag");
+    }
+
+    private static ConfigurableApplicationContext startNode(String instanceId) {
+        return new SpringApplicationBuilder(EmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:file:" + databaseDir.resolve("cluster").toAbsolutePath(),
+                        "scheduler.lock.instance-id=" + instanceId)
+                .run();
+    }
+}
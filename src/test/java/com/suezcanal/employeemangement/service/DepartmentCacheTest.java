@@ -0,0 +1,123 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.dto.DepartmentCacheStats;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentCacheTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    private DepartmentCache departmentCache;
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        departmentCache = new DepartmentCache(departmentRepository, entityManagerFactory, 100, Duration.ofMinutes(10));
+        department = new Department();
+        department.setId(1L);
+        department.setName("IT");
+    }
+
+    @Test
+    void findByName_SecondLookupIsCaseInsensitiveHit() {
+        when(departmentRepository.findByNameIgnoreCase("IT")).thenReturn(Optional.of(department));
+
+        assertEquals(1L, departmentCache.findByName("IT").orElseThrow().getId());
+        assertEquals(1L, departmentCache.findByName("it").orElseThrow().getId());
+        assertEquals("IT", departmentCache.findById(1L).orElseThrow().getName());
+
+        verify(departmentRepository, times(1)).findByNameIgnoreCase("IT");
+        verify(departmentRepository, never()).findById(anyLong());
+        DepartmentCacheStats stats = departmentCache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void findByName_ReturnsDetachedCopy() {
+        when(departmentRepository.findByNameIgnoreCase("IT")).thenReturn(Optional.of(department));
+
+        Department cached = departmentCache.findByName("IT").orElseThrow();
+
+        assertNotSame(department, cached);
+        assertNull(cached.getEmployees());
+    }
+
+    @Test
+    void findAll_LoadsOnceAndSortsById() {
+        Department hr = new Department();
+        hr.setId(2L);
+        hr.setName("HR");
+        when(departmentRepository.findAll()).thenReturn(List.of(hr, department));
+
+        assertEquals(List.of(1L, 2L), departmentCache.findAll().stream().map(Department::getId).toList());
+        departmentCache.findAll();
+        departmentCache.findByName("hr");
+
+        verify(departmentRepository, times(1)).findAll();
+        verify(departmentRepository, never()).findByNameIgnoreCase(anyString());
+    }
+
+    @Test
+    void invalidateAfterCommit_WithoutTransaction_InvalidatesImmediately() {
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
+        departmentCache.findById(1L);
+
+        departmentCache.invalidateAfterCommit();
+        departmentCache.findById(1L);
+
+        verify(departmentRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void invalidateOnNewGeneration_ClearsBothCachesOnlyWhenTheGenerationMoves() {
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        when(secondLevelCache.unwrap(Cache.class)).thenReturn(secondLevelCache);
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
+
+        departmentCache.invalidateOnNewGeneration("\"1\"");
+        departmentCache.findById(1L);
+        departmentCache.invalidateOnNewGeneration("\"1\"");
+        departmentCache.findById(1L);
+        departmentCache.invalidateOnNewGeneration("\"2\"");
+        departmentCache.findById(1L);
+
+        verify(departmentRepository, times(2)).findById(1L);
+        verify(secondLevelCache, times(2)).evictEntityData(Department.class);
+        verify(secondLevelCache, times(2)).evictQueryRegion("department-queries");
+    }
+
+    @Test
+    void findByName_Unknown_NotCached() {
+        when(departmentRepository.findByNameIgnoreCase("Nope")).thenReturn(Optional.empty());
+
+        assertTrue(departmentCache.findByName("Nope").isEmpty());
+        assertTrue(departmentCache.findByName("Nope").isEmpty());
+        assertTrue(departmentCache.findByName(null).isEmpty());
+
+        verify(departmentRepository, times(2)).findByNameIgnoreCase("Nope");
+    }
+}
@@ -1,14 +1,20 @@
 package com.suezcanal.employeemangement.service;
 
 import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.exception.PreconditionFailedException;
+import com.suezcanal.employeemangement.mapper.DepartmentMapper;
+import com.suezcanal.employeemangement.mapper.DepartmentMapperImpl;
 import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.OutboxEventType;
 import com.suezcanal.employeemangement.repository.DepartmentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
@@ -25,6 +31,18 @@ class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private DepartmentCache departmentCache;
+
+    @Mock
+    private TableChangeCounter tableChangeCounter;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private DepartmentMapper departmentMapper = new DepartmentMapperImpl();
+
     @InjectMocks
     private DepartmentService departmentService;
 
@@ -44,7 +62,7 @@ class DepartmentServiceTest {
 
     @Test
     void getAllDepartments_ReturnsList() {
-        when(departmentRepository.findAll()).thenReturn(Collections.singletonList(department));
+        when(departmentCache.findAll()).thenReturn(Collections.singletonList(department));
         List<DepartmentDTO> result = departmentService.getAllDepartments();
         assertEquals(1, result.size());
         assertEquals("IT", result.getFirst().getName());
@@ -52,7 +70,7 @@ class DepartmentServiceTest {
 
     @Test
     void getDepartmentById_Success() {
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
+        when(departmentCache.findById(1L)).thenReturn(Optional.of(department));
         DepartmentDTO result = departmentService.getDepartmentById(1L);
         assertNotNull(result);
         assertEquals("IT", result.getName());
@@ -60,15 +78,35 @@ class DepartmentServiceTest {
 
     @Test
     void getDepartmentById_NotFound() {
-        when(departmentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(departmentCache.findById(1L)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> departmentService.getDepartmentById(1L));
     }
 
+    @Test
+    void getDepartmentETag_UsesCachedVersionOfCurrentGeneration() {
+        department.setVersion(3L);
+        when(tableChangeCounter.etag(TableChangeCounter.Table.DEPARTMENTS)).thenReturn("\"7\"");
+        when(departmentCache.findById(1L)).thenReturn(Optional.of(department));
+        assertEquals("\"3\"", departmentService.getDepartmentETag(1L));
+        InOrder inOrder = inOrder(departmentCache);
+        inOrder.verify(departmentCache).invalidateOnNewGeneration("\"7\"");
+        inOrder.verify(departmentCache).findById(1L);
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void getDepartmentETag_NotFound() {
+        when(departmentCache.findById(1L)).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> departmentService.getDepartmentETag(1L));
+    }
+
     @Test
     void createDepartment_Success() {
         when(departmentRepository.existsByNameIgnoreCase("IT")).thenReturn(false);
         when(departmentRepository.save(any(Department.class))).thenReturn(department);
         assertDoesNotThrow(() -> departmentService.createDepartment(department));
+        verify(departmentCache).invalidateAfterCommit();
+        verify(outboxService).record(eq(OutboxEventType.DEPARTMENT_CREATED), eq(1L), any(DepartmentDTO.class));
     }
 
     @Test
@@ -76,12 +114,24 @@ class DepartmentServiceTest {
         when(departmentRepository.existsByNameIgnoreCase("IT")).thenReturn(true);
         assertThrows(DataIntegrityViolationException.class, () -> departmentService.createDepartment(department));
         verify(departmentRepository, never()).save(any(Department.class));
+        verify(departmentCache, never()).invalidateAfterCommit();
     }
     @Test
     void updateDepartment_Success() {
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
         when(departmentRepository.save(any(Department.class))).thenReturn(department);
-        assertDoesNotThrow(() -> departmentService.updateDepartment(1L,departmentDTO));
+        assertDoesNotThrow(() -> departmentService.updateDepartment(1L, departmentDTO, null));
+        verify(departmentCache).invalidateAfterCommit();
+        verify(tableChangeCounter).increment(TableChangeCounter.Table.DEPARTMENTS);
+    }
+
+    @Test
+    void updateDepartment_IfMatchStaleVersion() {
+        department.setVersion(1L);
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
+        assertThrows(PreconditionFailedException.class, () -> departmentService.updateDepartment(1L, departmentDTO, "\"0\""));
+        verify(departmentRepository, never()).save(any(Department.class));
+        verifyNoInteractions(departmentCache, tableChangeCounter, outboxService);
     }
 
     @Test
@@ -92,6 +142,7 @@ class DepartmentServiceTest {
         department.setEmployees(Collections.emptyList());
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
         assertDoesNotThrow(() -> departmentService.deleteDepartment(1L));
+        verify(departmentCache).invalidateAfterCommit();
     }
 
     @Test
@@ -0,0 +1,254 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suezcanal.employeemangement.dto.DepartmentHeadcount;
+import com.suezcanal.employeemangement.dto.HeadcountBucket;
+import com.suezcanal.employeemangement.dto.HeadcountSnapshot;
+import com.suezcanal.employeemangement.exception.BadRequestException;
+import com.suezcanal.employeemangement.model.DailySummary;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.model.SummaryResolution;
+import com.suezcanal.employeemangement.repository.DailySummaryRepository;
+import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentSummaryServiceTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Mock
+    private DepartmentCache departmentCache;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DepartmentSummaryService departmentSummaryService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generateDailyDepartmentSummary_RecordsOneEventPerPartitionWithSameTimestamp() {
+        givenDepartments(2L, 1L);
+        when(departmentRepository.countEmployeesPerDepartmentBetween(1L, 2L)).thenReturn(List.of(
+                new DepartmentHeadcount(1L, "IT", 3),
+                new DepartmentHeadcount(2L, "HR", 0)));
+
+        int rows = departmentSummaryService.generateDailyDepartmentSummary(500, 4);
+
+        assertEquals(2, rows);
+        ArgumentCaptor<List<HeadcountSnapshot>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).record(eq(OutboxEventType.HEADCOUNT_RECORDED), isNull(), captor.capture());
+        List<HeadcountSnapshot> snapshots = captor.getValue();
+        assertEquals(List.of(1L, 2L), snapshots.stream().map(HeadcountSnapshot::departmentId).toList());
+        assertEquals(3, snapshots.get(0).employeeCount());
+        assertEquals(0, snapshots.get(1).employeeCount());
+        assertEquals(snapshots.get(0).timestamp(), snapshots.get(1).timestamp());
+        verifyNoInteractions(dailySummaryRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generateDailyDepartmentSummary_CountsIdPartitionsInParallel() {
+        givenDepartments(1L, 2L, 3L, 4L, 5L);
+        when(departmentRepository.countEmployeesPerDepartmentBetween(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            return LongStream.rangeClosed(from, to).mapToObj(id -> new DepartmentHeadcount(id, "D" + id, id)).toList();
+        });
+
+        assertEquals(5, departmentSummaryService.generateDailyDepartmentSummary(2, 3));
+
+        verify(departmentRepository).countEmployeesPerDepartmentBetween(1L, 2L);
+        verify(departmentRepository).countEmployeesPerDepartmentBetween(3L, 4L);
+        verify(departmentRepository).countEmployeesPerDepartmentBetween(5L, 5L);
+        verify(transactionTemplate, times(3)).execute(any());
+        ArgumentCaptor<List<HeadcountSnapshot>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxService, times(3)).record(eq(OutboxEventType.HEADCOUNT_RECORDED), isNull(), captor.capture());
+        List<HeadcountSnapshot> snapshots = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(5, snapshots.size());
+        assertEquals(1, snapshots.stream().map(HeadcountSnapshot::timestamp).distinct().count());
+    }
+
+    @Test
+    void generateDailyDepartmentSummary_FailedPartitionFailsRunAfterOthersFinish() {
+        givenDepartments(1L, 2L, 3L);
+        when(departmentRepository.countEmployeesPerDepartmentBetween(anyLong(), anyLong())).thenAnswer(invocation -> {
+            if ((long) invocation.getArgument(0) == 2L) {
+                throw new IllegalStateException("boom");
+            }
+            long id = invocation.getArgument(0);
+            return List.of(new DepartmentHeadcount(id, "D" + id, 1));
+        });
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> departmentSummaryService.generateDailyDepartmentSummary(1, 3));
+
+        assertEquals("boom", e.getCause().getMessage());
+        verify(outboxService, times(2)).record(eq(OutboxEventType.HEADCOUNT_RECORDED), isNull(), any());
+    }
+
+    @Test
+    void generateDailyDepartmentSummary_InvalidPartitioning_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> departmentSummaryService.generateDailyDepartmentSummary(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> departmentSummaryService.generateDailyDepartmentSummary(500, 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accept_SavesOneRowPerSnapshotInSingleBatch() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 9, 0);
+        when(departmentRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(Set.of(1L, 2L, 3L));
+        when(departmentRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Department department = new Department();
+            department.setId(invocation.getArgument(0));
+            return department;
+        });
+
+        departmentSummaryService.accept(List.of(
+                event(1L, OutboxEventType.HEADCOUNT_RECORDED, List.of(new HeadcountSnapshot(1L, 3, timestamp),
+                        new HeadcountSnapshot(2L, 0, timestamp))),
+                event(2L, OutboxEventType.EMPLOYEE_DELETED, Map.of("departmentId", 1)),
+                // recorded before snapshots were grouped per partition
+                event(3L, OutboxEventType.HEADCOUNT_RECORDED, new HeadcountSnapshot(3L, 7, timestamp))));
+
+        ArgumentCaptor<List<DailySummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailySummaryRepository).saveAll(captor.capture());
+        List<DailySummary> summaries = captor.getValue();
+        assertEquals(3, summaries.size());
+        assertEquals(1L, summaries.get(0).getDepartment().getId());
+        assertEquals(3, summaries.get(0).getEmployeeCount());
+        assertEquals(3, summaries.get(0).getMinEmployeeCount());
+        assertEquals(3, summaries.get(0).getMaxEmployeeCount());
+        assertEquals(1, summaries.get(0).getSamples());
+        assertEquals(SummaryResolution.DAY, summaries.get(0).getResolution());
+        assertEquals(2L, summaries.get(1).getDepartment().getId());
+        assertEquals(0, summaries.get(1).getEmployeeCount());
+        assertEquals(3L, summaries.get(2).getDepartment().getId());
+        assertEquals(7L, summaries.get(2).getEmployeeDays());
+        assertEquals(timestamp, summaries.get(0).getTimestamp());
+        assertEquals(timestamp, summaries.get(1).getTimestamp());
+        verify(dailySummaryRepository, never()).save(any(DailySummary.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accept_SkipsSnapshotsOfDeletedDepartmentsOnly() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 9, 0);
+        when(departmentRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(Set.of(1L, 3L));
+        when(departmentRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Department department = new Department();
+            department.setId(invocation.getArgument(0));
+            return department;
+        });
+
+        departmentSummaryService.accept(List.of(event(1L, OutboxEventType.HEADCOUNT_RECORDED, List.of(
+                new HeadcountSnapshot(1L, 3, timestamp), new HeadcountSnapshot(2L, 4, timestamp),
+                new HeadcountSnapshot(3L, 5, timestamp)))));
+
+        ArgumentCaptor<List<DailySummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailySummaryRepository).saveAll(captor.capture());
+        assertEquals(List.of(1L, 3L), captor.getValue().stream().map(summary -> summary.getDepartment().getId()).toList());
+    }
+
+    @Test
+    void accept_NoSnapshots_WritesNothing() throws Exception {
+        departmentSummaryService.accept(List.of(event(1L, OutboxEventType.DEPARTMENT_DELETED, Map.of("id", 6))));
+
+        verifyNoInteractions(dailySummaryRepository);
+    }
+
+    @Test
+    void generateDailyDepartmentSummary_NoDepartments_WritesNothing() {
+        when(departmentCache.findAll()).thenReturn(List.of());
+
+        assertEquals(0, departmentSummaryService.generateDailyDepartmentSummary(500, 4));
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void getHeadcountHistory_ToIsInclusive() {
+        when(departmentCache.findById(1L)).thenReturn(Optional.of(new Department()));
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+
+        departmentSummaryService.getHeadcountHistory(1L, from, to, HeadcountBucket.WEEK);
+
+        verify(dailySummaryRepository).findHeadcountHistory(1L, from.atStartOfDay(), LocalDate.of(2025, 1, 1).atStartOfDay(), HeadcountBucket.WEEK);
+    }
+
+    @Test
+    void getHeadcountHistory_FromAfterTo_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> departmentSummaryService.getHeadcountHistory(
+                1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), HeadcountBucket.DAY));
+        verifyNoInteractions(dailySummaryRepository);
+    }
+
+    @Test
+    void getHeadcountHistory_UnknownDepartment_ThrowsException() {
+        when(departmentCache.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> departmentSummaryService.getHeadcountHistory(
+                99L, null, null, HeadcountBucket.MONTH));
+        verifyNoInteractions(dailySummaryRepository);
+    }
+
+    @Test
+    void rollUpDailySummaries_CutsOffAtStartOfMonth() {
+        when(dailySummaryRepository.deleteByResolutionBefore(any(), any())).thenReturn(62);
+
+        assertEquals(62, departmentSummaryService.rollUpDailySummaries(LocalDate.of(2024, 3, 15)));
+
+        verify(dailySummaryRepository).insertMonthlyRollups(LocalDate.of(2024, 3, 1).atStartOfDay());
+        verify(dailySummaryRepository).deleteByResolutionBefore(SummaryResolution.DAY, LocalDate.of(2024, 3, 1).atStartOfDay());
+    }
+
+    private OutboxEvent event(Long id, OutboxEventType type, Object payload) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        return new OutboxEvent(id, type, null, objectMapper.writeValueAsString(payload), now, 0, now);
+    }
+
+    private void givenDepartments(Long... ids) {
+        when(departmentCache.findAll()).thenReturn(Arrays.stream(ids).map(id -> {
+            Department department = new Department();
+            department.setId(id);
+            return department;
+        }).toList());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
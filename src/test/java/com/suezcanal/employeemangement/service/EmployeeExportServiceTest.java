@@ -0,0 +1,107 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.configuration.SecondLevelCacheConfig;
+import com.suezcanal.employeemangement.dto.EmployeeDataFormat;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({EmployeeExportService.class, SecondLevelCacheConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EmployeeExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeExportService employeeExportService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        Department department = new Department();
+        department.setName("IT");
+        entityManager.persist(department);
+        employee = new Employee();
+        employee.setFirstName("Doe, \"JJ\"");
+        employee.setLastName("Doe");
+        employee.setEmail("john@example.com");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+        employee.setSalary(5000.0);
+        employee.setDepartment(department);
+        entityManager.persist(employee);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportEmployees_Ndjson_WritesOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = employeeExportService.exportEmployees(output, EmployeeDataFormat.NDJSON);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertEquals(1, rows);
+        assertTrue(body.endsWith("}\n"));
+        assertTrue(body.contains("\"email\":\"john@example.com\""));
+        assertTrue(body.contains("\"dateOfBirth\":\"1990-01-01\""));
+        assertTrue(body.contains("\"department\":{\"id\":" + employee.getDepartment().getId() + ",\"name\":\"IT\"}"));
+    }
+
+    @Test
+    void exportEmployees_Ndjson_SeparatesRowsWithANewlineOnly() throws IOException {
+        Employee second = new Employee();
+        second.setFirstName("Jane");
+        second.setLastName("Roe");
+        second.setEmail("jane@example.com");
+        second.setDateOfBirth(LocalDate.of(1992, 5, 6));
+        second.setHireDate(LocalDate.of(2021, 2, 3));
+        second.setSalary(6000.0);
+        second.setDepartment(entityManager.find(Department.class, employee.getDepartment().getId()));
+        entityManager.persist(second);
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = employeeExportService.exportEmployees(output, EmployeeDataFormat.NDJSON);
+
+        long departmentId = employee.getDepartment().getId();
+        String expected = "{\"id\":" + employee.getId() + ",\"firstName\":\"Doe, \\\"JJ\\\"\",\"lastName\":\"Doe\","
+                + "\"email\":\"john@example.com\",\"dateOfBirth\":\"1990-01-01\",\"hireDate\":\"2020-01-01\","
+                + "\"phoneNumber\":null,\"salary\":5000.0,\"department\":{\"id\":" + departmentId + ",\"name\":\"IT\"}}\n"
+                + "{\"id\":" + second.getId() + ",\"firstName\":\"Jane\",\"lastName\":\"Roe\","
+                + "\"email\":\"jane@example.com\",\"dateOfBirth\":\"1992-05-06\",\"hireDate\":\"2021-02-03\","
+                + "\"phoneNumber\":null,\"salary\":6000.0,\"department\":{\"id\":" + departmentId + ",\"name\":\"IT\"}}\n";
+        assertEquals(2, rows);
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), output.toByteArray());
+    }
+
+    @Test
+    void exportEmployees_Csv_WritesHeaderAndEscapedRows() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = employeeExportService.exportEmployees(output, EmployeeDataFormat.CSV);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, rows);
+        assertEquals("id,firstName,lastName,email,dateOfBirth,hireDate,phoneNumber,salary,department", lines[0]);
+        assertEquals(employee.getId() + ",\"Doe, \"\"JJ\"\"\",Doe,john@example.com,1990-01-01,2020-01-01,,5000.0,IT", lines[1]);
+    }
+}
@@ -0,0 +1,179 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.configuration.SecondLevelCacheConfig;
+import com.suezcanal.employeemangement.dto.BulkImportResult;
+import com.suezcanal.employeemangement.dto.EmployeeDataFormat;
+import com.suezcanal.employeemangement.exception.BadRequestException;
+import com.suezcanal.employeemangement.mapper.DepartmentMapperImpl;
+import com.suezcanal.employeemangement.mapper.EmployeeMapperImpl;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.Employee;
+import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+@DataJpaTest
+@Import({EmployeeImportService.class, DepartmentCache.class, EmployeeSuggestionIndex.class, SalaryStatsService.class, TableChangeCounter.class, EmployeeEmailFilter.class, OutboxService.class, EmployeeMapperImpl.class, DepartmentMapperImpl.class, SecondLevelCacheConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeImportServiceTest {
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private DepartmentCache departmentCache;
+
+    @Autowired
+    private EmployeeSuggestionIndex suggestionIndex;
+
+    @SpyBean
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        Department department = new Department();
+        department.setName("IT");
+        departmentRepository.save(department);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        departmentCache.invalidateAll();
+    }
+
+    @Test
+    void importEmployees_Ndjson_ImportsValidRowsAndReportsErrors() throws IOException {
+        String body = """
+                {"firstName":"John","lastName":"Doe","email":"john@example.com","dateOfBirth":"1990-01-01","hireDate":"2020-01-01","salary":5000,"department":{"name":"IT"}}
+                {"firstName":"Jane","lastName":"Doe","email":"jane@example.com","dateOfBirth":"1990-01-01","hireDate":"2020-01-01","salary":5000,"department":{"name":"Unknown"}}
+                {not json
+
+                {"firstName":"Jack","lastName":"Doe","email":"john@example.com","dateOfBirth":"1990-01-01","hireDate":"2020-01-01","salary":5000,"department":{"name":"IT"}}
+                {"firstName":"J","lastName":"Doe","email":"short@example.com","dateOfBirth":"1990-01-01","hireDate":"2020-01-01","salary":5000,"department":{"name":"IT"}}
+                """;
+
+        BulkImportResult result = employeeImportService.importEmployees(stream(body), EmployeeDataFormat.NDJSON);
+
+        assertEquals(5, result.received());
+        assertEquals(1, result.imported());
+        assertEquals(4, result.failed());
+        assertEquals(2, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).message().startsWith("Department not found"));
+        assertEquals(3, result.errors().get(1).line());
+        assertTrue(result.errors().get(1).message().startsWith("Malformed row"));
+        assertEquals(5, result.errors().get(2).line());
+        assertTrue(result.errors().get(2).message().startsWith("Duplicate email"));
+        assertTrue(result.errors().get(3).message().startsWith("firstName"));
+        Long johnId = employeeRepository.findByEmail("john@example.com").orElseThrow().getId();
+        assertTrue(suggestionIndex.suggest("john@", 10).stream().anyMatch(suggestion -> suggestion.id().equals(johnId)));
+    }
+
+    @Test
+    void importEmployees_Csv_SkipsExistingEmails() throws IOException {
+        String first = """
+                firstName,lastName,email,dateOfBirth,hireDate,phoneNumber,salary,department
+                "Doe, John",Doe,john@example.com,1990-01-01,2020-01-01,01023456567,5000,IT
+                """;
+        String second = """
+                email,firstName,lastName,dateOfBirth,hireDate,phoneNumber,salary,department
+                john@example.com,John,Doe,1990-01-01,2020-01-01,01023456567,5000,IT
+                jane@example.com,Jane,Doe,1990-01-01,2020-01-01,,6000,it
+                """;
+
+        BulkImportResult firstResult = employeeImportService.importEmployees(stream(first), EmployeeDataFormat.CSV);
+        BulkImportResult secondResult = employeeImportService.importEmployees(stream(second), EmployeeDataFormat.CSV);
+
+        assertEquals(1, firstResult.imported());
+        assertEquals("Doe, John", employeeRepository.findByEmail("john@example.com").orElseThrow().getFirstName());
+        assertEquals(1, secondResult.imported());
+        assertEquals(1, secondResult.failed());
+        assertEquals("Email already exists: john@example.com", secondResult.errors().getFirst().message());
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void importEmployees_EmailUnknownToThisInstanceIsReportedPerRow() throws IOException {
+        // written behind this instance's email filter, as another instance would
+        Employee existing = new Employee();
+        existing.setFirstName("John");
+        existing.setLastName("Doe");
+        existing.setEmail("john@example.com");
+        existing.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        existing.setHireDate(LocalDate.of(2020, 1, 1));
+        existing.setSalary(5000.0);
+        existing.setDepartment(departmentRepository.findAll().getFirst());
+        employeeRepository.save(existing);
+        String body = """
+                email,firstName,lastName,dateOfBirth,hireDate,phoneNumber,salary,department
+                john@example.com,John,Doe,1990-01-01,2020-01-01,,5000,IT
+                jane@example.com,Jane,Doe,1990-01-01,2020-01-01,,6000,IT
+                """;
+
+        BulkImportResult result = employeeImportService.importEmployees(stream(body), EmployeeDataFormat.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals("Email already exists: john@example.com", result.errors().getFirst().message());
+    }
+
+    @Test
+    void importEmployees_RowsOfRejectedChunkAreNotDuplicatesOfLaterRows() throws IOException {
+        // stubbed on the target, as the transactional proxy would demand a transaction for the stubbing call
+        doThrow(new DataIntegrityViolationException("outbox unavailable")).doCallRealMethod()
+                .when(AopTestUtils.<OutboxService>getUltimateTargetObject(outboxService)).record(any(), any(), any());
+        StringBuilder body = new StringBuilder("email,firstName,lastName,dateOfBirth,hireDate,phoneNumber,salary,department\n");
+        for (int i = 0; i < 1000; i++) {
+            body.append("user").append(i).append("@example.com,John,Doe,1990-01-01,2020-01-01,,5000,IT\n");
+        }
+        // first row of the second chunk
+        body.append("user0@example.com,John,Doe,1990-01-01,2020-01-01,,5000,IT\n");
+
+        BulkImportResult result = employeeImportService.importEmployees(stream(body.toString()), EmployeeDataFormat.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(1000, result.failed());
+        assertTrue(result.errors().stream().allMatch(error -> error.message().startsWith("Chunk rejected by database")));
+        assertTrue(employeeRepository.findByEmail("user0@example.com").isPresent());
+    }
+
+    @Test
+    void importEmployees_CsvMissingColumns_Throws() {
+        assertThrows(BadRequestException.class,
+                () -> employeeImportService.importEmployees(stream("firstName,lastName\nJohn,Doe\n"), EmployeeDataFormat.CSV));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,10 +1,21 @@
 package com.suezcanal.employeemangement.service;
 
+import com.suezcanal.employeemangement.dto.BulkUpdateResult;
+import com.suezcanal.employeemangement.dto.CursorPage;
 import com.suezcanal.employeemangement.dto.DepartmentDTO;
+import com.suezcanal.employeemangement.dto.DepartmentTransferRequest;
 import com.suezcanal.employeemangement.dto.EmployeeDTO;
+import com.suezcanal.employeemangement.dto.EmployeeSearchCriteria;
+import com.suezcanal.employeemangement.dto.EmployeeSuggestion;
+import com.suezcanal.employeemangement.dto.SalaryAdjustmentRequest;
+import com.suezcanal.employeemangement.exception.BadRequestException;
+import com.suezcanal.employeemangement.exception.PreconditionFailedException;
+import com.suezcanal.employeemangement.mapper.DepartmentMapperImpl;
+import com.suezcanal.employeemangement.mapper.EmployeeMapper;
+import com.suezcanal.employeemangement.mapper.EmployeeMapperImpl;
 import com.suezcanal.employeemangement.model.Department;
 import com.suezcanal.employeemangement.model.Employee;
-import com.suezcanal.employeemangement.repository.DepartmentRepository;
+import com.suezcanal.employeemangement.model.OutboxEventType;
 import com.suezcanal.employeemangement.repository.EmployeeRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,14 +23,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Page;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -30,7 +48,25 @@ class EmployeeServiceTest {
     private EmployeeRepository employeeRepository;
 
     @Mock
-    private DepartmentRepository departmentRepository;
+    private DepartmentCache departmentCache;
+
+    @Mock
+    private EmployeeSuggestionIndex suggestionIndex;
+
+    @Mock
+    private SalaryStatsService salaryStatsService;
+
+    @Mock
+    private TableChangeCounter tableChangeCounter;
+
+    @Mock
+    private EmployeeEmailFilter emailFilter;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private EmployeeMapper employeeMapper = new EmployeeMapperImpl(new DepartmentMapperImpl());
 
     @InjectMocks
     private EmployeeService employeeService;
@@ -70,31 +106,48 @@ class EmployeeServiceTest {
 
     @Test
     void createEmployee_Success() {
-        when(employeeRepository.existsByEmail(anyString())).thenReturn(false);
-        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
-        when(departmentRepository.findByName(anyString())).thenReturn(Optional.of(department));
+        when(emailFilter.mightContain("john.doe@example.com")).thenReturn(false);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employee);
+        when(departmentCache.findByName(anyString())).thenReturn(Optional.of(department));
         EmployeeDTO result = employeeService.createEmployee(employeeDTO);
 
         assertNotNull(result);
         assertEquals(employee.getFirstName(), result.getFirstName());
         assertEquals(employee.getEmail(), result.getEmail());
         assertEquals(employee.getDepartment().getId(), result.getDepartment().getId());
-        verify(employeeRepository).save(any(Employee.class));
+        verify(employeeRepository).saveAndFlush(any(Employee.class));
+        verify(employeeRepository, never()).existsByEmail(anyString());
+        verify(emailFilter).add("john.doe@example.com");
+        verify(suggestionIndex).putAfterCommit(new EmployeeSuggestion(1L, "John", "Doe", "john.doe@example.com"));
+        verify(salaryStatsService).invalidateAfterCommit(1L);
+        verify(outboxService).record(OutboxEventType.EMPLOYEE_CREATED, 1L, result);
     }
 
     @Test
     void createEmployee_DuplicateEmail() {
+        when(emailFilter.mightContain("john.doe@example.com")).thenReturn(true);
         when(employeeRepository.existsByEmail(anyString())).thenReturn(true);
 
         assertThrows(DataIntegrityViolationException.class,
                 () -> employeeService.createEmployee(employeeDTO));
 
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void createEmployee_FilterFalsePositiveFallsThroughToInsert() {
+        when(emailFilter.mightContain("john.doe@example.com")).thenReturn(true);
+        when(employeeRepository.existsByEmail("john.doe@example.com")).thenReturn(false);
+        when(departmentCache.findByName(anyString())).thenReturn(Optional.of(department));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employee);
+
+        assertNotNull(employeeService.createEmployee(employeeDTO));
     }
 
     @Test
     void getEmployeeById_Success() {
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findDtoById(1L)).thenReturn(Optional.of(toProjection(employee)));
 
         EmployeeDTO result = employeeService.getEmployeeById(1L);
 
@@ -106,7 +159,7 @@ class EmployeeServiceTest {
 
     @Test
     void getEmployeeById_NotFound() {
-        when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(employeeRepository.findDtoById(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> employeeService.getEmployeeById(1L));
@@ -115,33 +168,186 @@ class EmployeeServiceTest {
     @Test
     void updateEmployee_Success() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(departmentRepository.findByName(anyString())).thenReturn(Optional.of(department));
-        when(employeeRepository.existsByEmail(anyString())).thenReturn(true);
+        when(departmentCache.findByName(anyString())).thenReturn(Optional.of(department));
         when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
 
         employeeDTO.getDepartment().setName("HR");
-        EmployeeDTO result = employeeService.updateEmployee(1L, employeeDTO);
+        EmployeeDTO result = employeeService.updateEmployee(1L, employeeDTO, null);
 
         assertNotNull(result);
         verify(employeeRepository).save(any(Employee.class));
     }
 
+    @Test
+    void updateEmployee_IfMatchCurrentVersion() {
+        employee.setVersion(4L);
+        department.setVersion(2L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(departmentCache.findByName(anyString())).thenReturn(Optional.of(department));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+
+        assertNotNull(employeeService.updateEmployee(1L, employeeDTO, "\"3.2\", \"4.2\""));
+        assertNotNull(employeeService.updateEmployee(1L, employeeDTO, "W/\"4.2\""));
+    }
+
+    @Test
+    void updateEmployee_IfMatchStaleVersion() {
+        employee.setVersion(4L);
+        department.setVersion(2L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(1L, employeeDTO, "\"3.2\""));
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(1L, employeeDTO, "W/\"3.2\""));
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
     @Test
     void deleteEmployee_Success() {
-        when(employeeRepository.existsById(1L)).thenReturn(true);
+        when(employeeRepository.findDepartmentIdById(1L)).thenReturn(Optional.of(1L));
 
         employeeService.deleteEmployee(1L);
 
         verify(employeeRepository).deleteById(1L);
+        verify(suggestionIndex).removeAfterCommit(1L);
+        verify(salaryStatsService).invalidateAfterCommit(1L);
+        verify(outboxService).record(OutboxEventType.EMPLOYEE_DELETED, 1L, Map.of("departmentId", 1L));
     }
 
     @Test
     void deleteEmployee_NotFound() {
-        when(employeeRepository.existsById(1L)).thenReturn(false);
+        when(employeeRepository.findDepartmentIdById(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> employeeService.deleteEmployee(1L));
 
         verify(employeeRepository, never()).deleteById(anyLong());
     }
+
+    @Test
+    void getEmployeesAfter_MoreRows_ReturnsNextCursor() {
+        Employee second = new Employee();
+        second.setId(2L);
+        second.setDepartment(department);
+        when(employeeRepository.findDtosAfter(0L, Limit.of(2))).thenReturn(List.of(toProjection(employee), toProjection(second)));
+
+        CursorPage<EmployeeDTO> result = employeeService.getEmployeesAfter("", 1);
+
+        assertEquals(1, result.content().size());
+        assertEquals(1L, result.content().getFirst().getId());
+        assertEquals(KeysetCursor.encode(1L), result.nextCursor());
+    }
+
+    @Test
+    void getEmployeesAfter_LastPage_ReturnsNoCursor() {
+        when(employeeRepository.findDtosAfter(0L, Limit.of(11))).thenReturn(List.of(toProjection(employee)));
+
+        CursorPage<EmployeeDTO> result = employeeService.getEmployeesAfter(KeysetCursor.encode(0L), 10);
+
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getEmployeesAfter_InvalidCursor() {
+        assertThrows(BadRequestException.class,
+                () -> employeeService.getEmployeesAfter("not-a-cursor", 10));
+    }
+
+    private static EmployeeDTO toProjection(Employee employee) {
+        return new EmployeeDTO(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getDateOfBirth(), employee.getHireDate(), employee.getPhoneNumber(), employee.getSalary(),
+                employee.getDepartment().getId(), employee.getDepartment().getName());
+    }
+
+    @Test
+    void searchEmployees_UnknownDepartmentName_ReturnsEmptyPageWithoutQuery() {
+        when(departmentCache.findByName("Nope")).thenReturn(Optional.empty());
+
+        Page<EmployeeDTO> page = employeeService.searchEmployees(
+                new EmployeeSearchCriteria(null, "Nope", null, null, null, null, null), PageRequest.of(0, 20));
+
+        assertTrue(page.isEmpty());
+        verify(employeeRepository, never()).searchDtos(any(), any());
+    }
+
+    @Test
+    void searchEmployees_InvertedSalaryRange_Throws() {
+        assertThrows(BadRequestException.class, () -> employeeService.searchEmployees(
+                new EmployeeSearchCriteria(null, null, 6000.0, 5000.0, null, null, null), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void searchEmployees_InvertedHireDateRange_Throws() {
+        assertThrows(BadRequestException.class, () -> employeeService.searchEmployees(
+                new EmployeeSearchCriteria(null, null, null, null, LocalDate.of(2021, 1, 1), LocalDate.of(2020, 1, 1), null),
+                PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void suggestEmployees_BlankQuery_Throws() {
+        assertThrows(BadRequestException.class, () -> employeeService.suggestEmployees(" ", 10));
+
+        verifyNoInteractions(suggestionIndex);
+    }
+
+    @Test
+    void adjustSalaries_UpdatesDepartmentInOneStatement() {
+        when(departmentCache.findById(1L)).thenReturn(Optional.of(department));
+        when(employeeRepository.adjustSalariesByDepartment(1L, 1.1)).thenReturn(12);
+
+        assertEquals(new BulkUpdateResult(12), employeeService.adjustSalaries(new SalaryAdjustmentRequest(1L, 10.0)));
+
+        verify(salaryStatsService).invalidateAfterCommit(1L);
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void adjustSalaries_UnknownDepartment_ThrowsException() {
+        when(departmentCache.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> employeeService.adjustSalaries(new SalaryAdjustmentRequest(9L, 10.0)));
+        verify(employeeRepository, never()).adjustSalariesByDepartment(anyLong(), anyDouble());
+    }
+
+    @Test
+    void transferEmployees_WithoutFilter_ThrowsException() {
+        DepartmentTransferRequest request = new DepartmentTransferRequest(
+                new EmployeeSearchCriteria(null, null, null, null, null, null, null), 1L);
+
+        assertThrows(BadRequestException.class, () -> employeeService.transferEmployees(request));
+        verify(employeeRepository, never()).moveToDepartment(any(), anyLong());
+    }
+
+    @Test
+    void transferEmployees_UnknownSourceDepartmentName_MovesNothing() {
+        when(departmentCache.findById(1L)).thenReturn(Optional.of(department));
+        when(departmentCache.findByName("Nope")).thenReturn(Optional.empty());
+
+        BulkUpdateResult result = employeeService.transferEmployees(new DepartmentTransferRequest(
+                new EmployeeSearchCriteria(null, "Nope", null, null, null, null, null), 1L));
+
+        assertEquals(0, result.affected());
+        verify(employeeRepository, never()).moveToDepartment(any(), anyLong());
+        verifyNoInteractions(salaryStatsService);
+    }
+
+    @Test
+    void deleteEmployees_RemovesDeletedIdsFromIndexAfterCommit() {
+        when(employeeRepository.deleteByIdIn(List.of(1L, 2L, 3L))).thenReturn(2);
+
+        assertEquals(2, employeeService.deleteEmployees(List.of(1L, 2L, 3L)).affected());
+
+        verify(suggestionIndex).removeAllAfterCommit(List.of(1L, 2L, 3L));
+        verify(salaryStatsService).invalidateAllAfterCommit();
+        verify(outboxService).record(OutboxEventType.EMPLOYEES_DELETED, null, Map.of("ids", List.of(1L, 2L, 3L), "affected", 2));
+    }
+
+    @Test
+    void deleteEmployees_NothingDeleted_KeepsCaches() {
+        when(employeeRepository.deleteByIdIn(List.of(7L))).thenReturn(0);
+
+        assertEquals(0, employeeService.deleteEmployees(List.of(7L)).affected());
+
+        verifyNoInteractions(suggestionIndex, salaryStatsService, outboxService);
+    }
 }
@@ -0,0 +1,126 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suezcanal.employeemangement.dto.ChangeEvent;
+import com.suezcanal.employeemangement.dto.EmployeeSuggestion;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSuggestionIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSuggestionIndex(employeeRepository, new ObjectMapper(), 4);
+        when(employeeRepository.streamSuggestions()).thenReturn(Stream.of(
+                new EmployeeSuggestion(1L, "Ahmed", "Ezz", "ahmed@gmail.com"),
+                new EmployeeSuggestion(2L, "Bahaa", "Assal", "bahaa@gmail.com"),
+                new EmployeeSuggestion(3L, "Amr", "Ramy", "amr@gmail.com"),
+                new EmployeeSuggestion(4L, "Mohamed", "Ayman", "Mohammed@gmail.com")));
+        index.load();
+    }
+
+    @Test
+    void suggest_MatchesAnyFieldIgnoringCaseOrderedByMatch() {
+        assertEquals(List.of(1L, 3L, 2L, 4L), ids(index.suggest("A", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ahmed@", 10)));
+        assertEquals(List.of(4L), ids(index.suggest("MOHAMMED", 10)));
+        assertEquals(List.of(), ids(index.suggest("Zed", 10)));
+    }
+
+    @Test
+    void suggest_EmployeeMatchingSeveralFieldsIsReturnedOnce() {
+        List<EmployeeSuggestion> suggestions = index.suggest("ah", 10);
+
+        assertEquals(List.of(1L), ids(suggestions));
+        assertEquals(new EmployeeSuggestion(1L, "Ahmed", "Ezz", "ahmed@gmail.com"), suggestions.getFirst());
+    }
+
+    @Test
+    void suggest_RespectsLimit() {
+        assertEquals(List.of(1L, 3L), ids(index.suggest("a", 2)));
+    }
+
+    @Test
+    void putAll_ReplacesAndAddsEmployees() {
+        index.putAll(List.of(
+                new EmployeeSuggestion(1L, "Zaki", "Ezz", "zaki@gmail.com"),
+                new EmployeeSuggestion(5L, "Aya", "Nour", "aya@gmail.com")));
+
+        assertEquals(List.of(3L, 2L, 5L, 4L), ids(index.suggest("a", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("zak", 10)));
+        assertEquals(List.of(), ids(index.suggest("ahmed", 10)));
+    }
+
+    @Test
+    void removeAll_HidesEmployees() {
+        index.removeAll(List.of(3L));
+
+        assertEquals(List.of(1L, 2L, 4L), ids(index.suggest("a", 10)));
+    }
+
+    @Test
+    void compaction_MergesOverlayIntoSnapshot() {
+        index.putAll(LongStream.rangeClosed(10, 13)
+                .mapToObj(id -> new EmployeeSuggestion(id, "Karim" + id, "Kamel", "karim" + id + "@gmail.com"))
+                .toList());
+        index.removeAll(List.of(2L));
+
+        assertEquals(8, index.size());
+        assertEquals(List.of(10L, 11L, 12L, 13L), ids(index.suggest("kari", 10)));
+        assertEquals(List.of(1L, 3L, 4L), ids(index.suggest("a", 10)));
+        assertTrue(index.estimatedBytes() > 0);
+    }
+
+    @Test
+    void putAfterCommit_WithoutTransactionAppliesImmediately() {
+        index.putAfterCommit(new EmployeeSuggestion(6L, "Omar", "Adel", "omar@gmail.com"));
+        index.removeAfterCommit(1L);
+
+        assertEquals(List.of(6L), ids(index.suggest("o", 10)));
+        assertEquals(List.of(), ids(index.suggest("ezz", 10)));
+    }
+
+    @Test
+    void onChange_AppliesChangesMadeOnAnyInstance() {
+        when(employeeRepository.findSuggestionsByIdIn(List.of(7L, 8L)))
+                .thenReturn(List.of(new EmployeeSuggestion(7L, "Zeina", "Fawzy", "zeina@gmail.com")));
+
+        index.onChange(change(OutboxEventType.EMPLOYEE_UPDATED, 2L,
+                "{\"id\":2,\"firstName\":\"Basma\",\"lastName\":\"Assal\",\"email\":\"bahaa@gmail.com\",\"salary\":5000.0}"));
+        index.onChange(change(OutboxEventType.EMPLOYEE_DELETED, 3L, "{\"departmentId\":1}"));
+        index.onChange(change(OutboxEventType.EMPLOYEES_IMPORTED, null, "{\"ids\":[7,8]}"));
+        index.onChange(change(OutboxEventType.EMPLOYEES_DELETED, null, "{\"ids\":[4],\"affected\":1}"));
+        index.onChange(change(OutboxEventType.SALARIES_ADJUSTED, 1L, "{\"departmentId\":1}"));
+
+        assertEquals(new EmployeeSuggestion(2L, "Basma", "Assal", "bahaa@gmail.com"), index.suggest("basma", 10).getFirst());
+        assertEquals(List.of(1L, 2L), ids(index.suggest("a", 10)));
+        assertEquals(List.of(7L), ids(index.suggest("zeina", 10)));
+    }
+
+    private static ChangeEvent change(OutboxEventType type, Long aggregateId, String payload) {
+        return new ChangeEvent(1, type, aggregateId, payload, LocalDateTime.now());
+    }
+
+    private static List<Long> ids(List<EmployeeSuggestion> suggestions) {
+        return suggestions.stream().map(EmployeeSuggestion::id).toList();
+    }
+}
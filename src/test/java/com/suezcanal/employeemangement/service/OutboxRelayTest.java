@@ -0,0 +1,141 @@
+package com.suezcanal.employeemangement.service;
+
+import com.suezcanal.employeemangement.configuration.OutboxProperties;
+import com.suezcanal.employeemangement.model.OutboxEvent;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxConsumer firstConsumer;
+
+    @Mock
+    private OutboxConsumer secondConsumer;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties(2, 5, 3, Duration.ofSeconds(1), Duration.ofSeconds(3), 100,
+                Duration.ofMinutes(1));
+        relay = new OutboxRelay(outboxEventRepository, List.of(firstConsumer, secondConsumer), jobLockService,
+                new TransactionTemplate(transactionManager), properties);
+        lenient().when(jobLockService.extend(OutboxRelay.LOCK_NAME, Duration.ofMinutes(1))).thenReturn(true);
+    }
+
+    @Test
+    void drain_DeliversBatchesToEveryConsumerAndDeletesThem() {
+        List<OutboxEvent> full = List.of(event(1L, 0), event(2L, 0));
+        List<OutboxEvent> partial = List.of(event(3L, 0));
+        when(outboxEventRepository.findReady(eq(3), any(), any())).thenReturn(full).thenReturn(partial);
+
+        assertEquals(3, relay.drain());
+
+        verify(firstConsumer).accept(full);
+        verify(secondConsumer).accept(full);
+        verify(firstConsumer).accept(partial);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(outboxEventRepository, times(2)).findReady(anyInt(), any(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void drain_FailingEventIsHeldBackAloneWithBackoff() {
+        OutboxEvent poison = event(2L, 1);
+        List<OutboxEvent> batch = List.of(event(1L, 0), poison);
+        when(outboxEventRepository.findReady(eq(3), any(), any())).thenReturn(batch).thenReturn(List.of());
+        doThrow(new IllegalStateException("boom")).when(secondConsumer).accept(argThat(events -> events.contains(poison)));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(1, relay.drain());
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(List.of(2L));
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).recordFailure(eq(2L), nextAttempt.capture());
+        // second attempt: twice the initial backoff
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(2)));
+        assertTrue(nextAttempt.getValue().isBefore(LocalDateTime.now().plusSeconds(3)));
+    }
+
+    @Test
+    void drain_BackoffIsCappedAtMaxBackoff() {
+        when(outboxEventRepository.findReady(eq(3), any(), any())).thenReturn(List.of(event(1L, 2)));
+        doThrow(new IllegalStateException("boom")).when(firstConsumer).accept(any());
+
+        relay.drain();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).recordFailure(eq(1L), nextAttempt.capture());
+        assertFalse(nextAttempt.getValue().isAfter(LocalDateTime.now().plusSeconds(3)));
+        verifyNoInteractions(secondConsumer);
+    }
+
+    @Test
+    void drain_StopsWithoutFailingEventsWhenTheLockWasTakenOver() {
+        List<OutboxEvent> full = List.of(event(1L, 0), event(2L, 0));
+        when(outboxEventRepository.findReady(eq(3), any(), any())).thenReturn(full);
+        when(jobLockService.extend(OutboxRelay.LOCK_NAME, Duration.ofMinutes(1))).thenReturn(true).thenReturn(false);
+
+        assertEquals(2, relay.drain());
+
+        verify(outboxEventRepository, times(2)).findReady(anyInt(), any(), any());
+        verify(firstConsumer, times(1)).accept(full);
+        verify(outboxEventRepository, never()).recordFailure(anyLong(), any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void drain_RefreshesBacklogMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        relay.bindTo(registry);
+        when(outboxEventRepository.findReady(eq(3), any(), any())).thenReturn(List.of(event(1L, 0)));
+        when(outboxEventRepository.countByAttemptsLessThan(3)).thenReturn(7L);
+        when(outboxEventRepository.countByAttemptsGreaterThanEqual(3)).thenReturn(2L);
+        when(outboxEventRepository.findOldestPendingCreatedAt(3)).thenReturn(LocalDateTime.now().minusSeconds(30));
+
+        relay.drain();
+
+        assertEquals(1.0, registry.get("app.outbox.events").tag("outcome", "relayed").functionCounter().count());
+        assertEquals(7.0, registry.get("app.outbox.pending").gauge().value());
+        assertEquals(2.0, registry.get("app.outbox.dead.letters").gauge().value());
+        assertTrue(registry.get("app.outbox.lag").timeGauge().value(TimeUnit.SECONDS) >= 30);
+    }
+
+    private static OutboxEvent event(Long id, int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return new OutboxEvent(id, OutboxEventType.EMPLOYEE_UPDATED, id, "{}", now, attempts, now);
+    }
+}
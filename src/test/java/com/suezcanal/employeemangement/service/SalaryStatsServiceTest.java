@@ -0,0 +1,141 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suezcanal.employeemangement.dto.ChangeEvent;
+import com.suezcanal.employeemangement.dto.SalaryStats;
+import com.suezcanal.employeemangement.model.Department;
+import com.suezcanal.employeemangement.model.OutboxEventType;
+import com.suezcanal.employeemangement.repository.EmployeeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryStatsServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DepartmentCache departmentCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SalaryStatsService salaryStatsService;
+
+    @BeforeEach
+    void setUp() {
+        salaryStatsService = new SalaryStatsService(employeeRepository, departmentCache, transactionTemplate,
+                new ObjectMapper(), 100,
+                Duration.ofMinutes(10));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(departmentCache.findById(1L)).thenReturn(Optional.of(new Department(1L, "IT", null, 0L)));
+    }
+
+    @Test
+    void summarize_ComputesNearestRankPercentiles() {
+        SalaryStats stats = SalaryStatsService.summarize(1L,
+                IntStream.rangeClosed(1, 100).mapToObj(i -> (double) i).iterator());
+
+        assertEquals(new SalaryStats(1L, 100, 1.0, 100.0, 50.5, 50.0, 90.0, 99.0), stats);
+    }
+
+    @Test
+    void summarize_GrowsBufferPastInitialCapacity() {
+        SalaryStats stats = SalaryStatsService.summarize(null,
+                IntStream.range(0, 5000).mapToObj(i -> 1000.0 + i).iterator());
+
+        assertEquals(5000, stats.count());
+        assertEquals(1000.0, stats.min());
+        assertEquals(5999.0, stats.max());
+        assertEquals(5949.0, stats.p99());
+    }
+
+    @Test
+    void summarize_NoSalaries_ReturnsZeroCount() {
+        assertEquals(new SalaryStats(1L, 0, null, null, null, null, null, null),
+                SalaryStatsService.summarize(1L, Collections.emptyIterator()));
+    }
+
+    @Test
+    void getDepartmentSalaryStats_IsCachedUntilInvalidated() {
+        when(employeeRepository.streamSalariesByDepartment(1L))
+                .thenReturn(Stream.of(1000.0, 2000.0))
+                .thenReturn(Stream.of(1000.0, 2000.0, 3000.0));
+
+        assertEquals(2, salaryStatsService.getDepartmentSalaryStats(1L).count());
+        assertEquals(2, salaryStatsService.getDepartmentSalaryStats(1L).count());
+        verify(employeeRepository, times(1)).streamSalariesByDepartment(1L);
+
+        salaryStatsService.invalidateAfterCommit(1L);
+
+        assertEquals(3, salaryStatsService.getDepartmentSalaryStats(1L).count());
+        verify(employeeRepository, times(2)).streamSalariesByDepartment(1L);
+    }
+
+    @Test
+    void invalidateAfterCommit_AlsoInvalidatesAllDepartmentStats() {
+        when(employeeRepository.streamSalaries()).thenReturn(Stream.of(1000.0)).thenReturn(Stream.of(1000.0, 2000.0));
+
+        assertEquals(1, salaryStatsService.getSalaryStats().count());
+        salaryStatsService.invalidateAfterCommit(2L);
+
+        assertEquals(2, salaryStatsService.getSalaryStats().count());
+    }
+
+    @Test
+    void onChange_DropsStatsTouchedOnAnyInstance() {
+        lenient().when(departmentCache.findById(2L)).thenReturn(Optional.of(new Department(2L, "HR", null, 0L)));
+        when(employeeRepository.streamSalariesByDepartment(anyLong())).thenAnswer(invocation -> Stream.of(1000.0));
+
+        salaryStatsService.getDepartmentSalaryStats(1L);
+        salaryStatsService.getDepartmentSalaryStats(2L);
+        salaryStatsService.onChange(change(OutboxEventType.EMPLOYEE_CREATED, 7L, "{\"id\":7,\"department\":{\"id\":1}}"));
+        salaryStatsService.getDepartmentSalaryStats(1L);
+        salaryStatsService.getDepartmentSalaryStats(2L);
+        verify(employeeRepository, times(2)).streamSalariesByDepartment(1L);
+        verify(employeeRepository, times(1)).streamSalariesByDepartment(2L);
+
+        salaryStatsService.onChange(change(OutboxEventType.SALARIES_ADJUSTED, 2L, "{\"departmentId\":2}"));
+        salaryStatsService.getDepartmentSalaryStats(2L);
+        verify(employeeRepository, times(2)).streamSalariesByDepartment(2L);
+
+        salaryStatsService.onChange(change(OutboxEventType.EMPLOYEE_UPDATED, 7L, "{\"id\":7,\"department\":{\"id\":2}}"));
+        salaryStatsService.getDepartmentSalaryStats(1L);
+        verify(employeeRepository, times(3)).streamSalariesByDepartment(1L);
+
+        salaryStatsService.onChange(change(OutboxEventType.DEPARTMENT_UPDATED, 1L, "{\"id\":1}"));
+        salaryStatsService.getDepartmentSalaryStats(1L);
+        verify(employeeRepository, times(3)).streamSalariesByDepartment(1L);
+    }
+
+    @Test
+    void getDepartmentSalaryStats_UnknownDepartment_Throws() {
+        when(departmentCache.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> salaryStatsService.getDepartmentSalaryStats(9L));
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static ChangeEvent change(OutboxEventType type, Long aggregateId, String payload) {
+        return new ChangeEvent(1L, type, aggregateId, payload, LocalDateTime.now());
+    }
+}
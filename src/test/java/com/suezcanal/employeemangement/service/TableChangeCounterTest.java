@@ -0,0 +1,59 @@
+package com.suezcanal.employeemangement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TableChangeCounter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TableChangeCounterTest {
+
+    @Autowired
+    private TableChangeCounter counter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void etag_MovesOnlyWithTheTablesItCovers() {
+        String departments = counter.etag(TableChangeCounter.Table.DEPARTMENTS);
+        String both = counter.etag(TableChangeCounter.Table.EMPLOYEES, TableChangeCounter.Table.DEPARTMENTS);
+
+        counter.increment(TableChangeCounter.Table.EMPLOYEES);
+
+        assertEquals(departments, counter.etag(TableChangeCounter.Table.DEPARTMENTS));
+        assertNotEquals(both, counter.etag(TableChangeCounter.Table.EMPLOYEES, TableChangeCounter.Table.DEPARTMENTS));
+        assertTrue(both.startsWith("\"") && both.endsWith("\""));
+    }
+
+    @Test
+    void increment_MovesOnCommitOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        String etag = counter.etag(TableChangeCounter.Table.EMPLOYEES);
+
+        transaction.executeWithoutResult(status -> {
+            counter.increment(TableChangeCounter.Table.EMPLOYEES);
+            status.setRollbackOnly();
+        });
+        assertEquals(etag, counter.etag(TableChangeCounter.Table.EMPLOYEES));
+
+        transaction.executeWithoutResult(status -> {
+            counter.increment(TableChangeCounter.Table.EMPLOYEES);
+            counter.increment(TableChangeCounter.Table.EMPLOYEES);
+            assertEquals(etag, counter.etag(TableChangeCounter.Table.EMPLOYEES), "not before the commit");
+        });
+        String committed = counter.etag(TableChangeCounter.Table.EMPLOYEES);
+        assertNotEquals(etag, committed);
+
+        counter.increment(TableChangeCounter.Table.EMPLOYEES);
+        assertNotEquals(committed, counter.etag(TableChangeCounter.Table.EMPLOYEES));
+    }
+}
@@ -0,0 +1,78 @@
+package com.suezcanal.employeemangement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(SECRET, Duration.ofMinutes(15), new ObjectMapper(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void verify_IssuedToken_ReturnsClaims() {
+        String token = tokenService.issue("admin", "ADMIN");
+
+        Optional<TokenService.TokenClaims> claims = tokenService.verify(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("admin", claims.get().sub());
+        assertEquals("ADMIN", claims.get().role());
+        assertEquals(NOW.plus(Duration.ofMinutes(15)).getEpochSecond(), claims.get().exp());
+    }
+
+    @Test
+    void verify_TamperedPayload_ReturnsEmpty() {
+        String token = tokenService.issue("user", "USER");
+        String forged = tokenService.issue("user", "ADMIN");
+        String[] parts = token.split("\\.");
+        String[] forgedParts = forged.split("\\.");
+
+        assertTrue(tokenService.verify(parts[0] + "." + forgedParts[1] + "." + parts[2]).isEmpty());
+    }
+
+    @Test
+    void verify_ExpiredToken_ReturnsEmpty() {
+        String token = tokenService.issue("admin", "ADMIN");
+        TokenService later = new TokenService(SECRET, Duration.ofMinutes(15), new ObjectMapper(),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        assertTrue(later.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_DifferentSecret_ReturnsEmpty() {
+        String token = tokenService.issue("admin", "ADMIN");
+        TokenService other = new TokenService("fedcba9876543210fedcba9876543210", Duration.ofMinutes(15), new ObjectMapper(),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(other.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_Garbage_ReturnsEmpty() {
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+        assertTrue(tokenService.verify("a.b.c").isEmpty());
+    }
+
+    @Test
+    void constructor_ShortSecret_Throws() {
+        assertThrows(IllegalStateException.class,
+                () -> new TokenService("too-short", Duration.ofMinutes(15), new ObjectMapper(), Clock.systemUTC()));
+    }
+}